@@ -0,0 +1,77 @@
+package com.forex.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forex.ai.loadtest.LoadTestRunner;
+import com.forex.ai.loadtest.LoadTestSettings;
+import com.forex.ai.service.ForexDataService;
+import com.forex.ai.service.InstrumentRegistry;
+import com.forex.ai.service.WarmupService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application in-process on a free port (or --server.port) and load-tests its REST API.
+ * Settings are loadtest.* properties (see {@link LoadTestSettings}); all other arguments
+ * configure the application as usual, e.g. --forex.model.quantized=true.
+ *
+ * The load must not end up in the production journal or the live statistics: the journal is
+ * written to a temporary directory (unless --forex.journal.directory is given) that is deleted
+ * afterwards, and /predict requests carry the warm-up's synthetic token, so the journal, drift
+ * and shadow listeners skip them as they skip the simulated endpoints.
+ */
+public class ForexAiLoadTest {
+    public static void main(String[] args) throws Exception {
+        List<String> appArgs = new ArrayList<>(Arrays.asList(args));
+        // As arguments so they win over application.properties
+        if (appArgs.stream().noneMatch(arg -> arg.startsWith("--server.port="))) {
+            appArgs.add("--server.port=0");
+        }
+        Path journal = null;
+        if (appArgs.stream().noneMatch(arg -> arg.startsWith("--forex.journal.directory="))) {
+            journal = Files.createTempDirectory("forex-loadtest-journal");
+            appArgs.add("--forex.journal.directory=" + journal);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ForexAiApplication.class)
+                // Default only: per-request INFO logging would dominate the measurement
+                .properties("logging.level.com.forex.ai=WARN")
+                .run(appArgs.toArray(String[]::new));
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadTestRunner(LoadTestSettings.from(context.getEnvironment()),
+                    URI.create("http://127.0.0.1:" + port),
+                    context.getBean(WarmupService.class).getSyntheticToken(),
+                    context.getBean(InstrumentRegistry.class),
+                    context.getBean(ForexDataService.class),
+                    context.getBean(ObjectMapper.class),
+                    System.out).run();
+        } catch (Exception e) {
+            System.err.println("❌ Load test failed: " + e);
+            exitCode = 1;
+        } finally {
+            context.close();
+            if (journal != null) deleteRecursively(journal);
+        }
+        System.exit(exitCode);
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete " + directory + ": " + e);
+        }
+    }
+}
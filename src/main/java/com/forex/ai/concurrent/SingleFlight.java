@@ -0,0 +1,103 @@
+package com.forex.ai.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single Flight
+ * Concurrent calls with the same key share one in-flight computation.
+ * The first caller computes; callers arriving while it runs wait for its result.
+ * Nothing is cached: once the computation finishes, the next call computes again.
+ * Waiting can be bounded, so a slow computation does not hold every follower's thread.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public V execute(K key, Supplier<V> computation) {
+        return execute(key, computation, null, null);
+    }
+
+    /**
+     * Like {@link #execute(Object, Supplier)}, but a caller that finds the computation already
+     * in flight waits at most {@code maxWait} and then throws {@code onTimeout}'s exception.
+     * The computation keeps running for the caller that started it.
+     */
+    public V execute(K key, Supplier<V> computation, Duration maxWait,
+                     Supplier<? extends RuntimeException> onTimeout) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.increment();
+            return maxWait == null ? join(existing) : await(existing, maxWait, onTimeout);
+        }
+
+        computed.increment();
+        try {
+            V value = computation.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, Duration maxWait, Supplier<? extends RuntimeException> onTimeout) {
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            throw onTimeout.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw onTimeout.get();
+        }
+    }
+
+    /** Calls that ran the computation themselves. */
+    public long getComputed() {
+        return computed.sum();
+    }
+
+    /** Calls that reused another caller's in-flight result. */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    /** Calls that gave up waiting for another caller's result. */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
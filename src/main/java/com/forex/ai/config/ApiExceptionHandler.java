@@ -0,0 +1,38 @@
+package com.forex.ai.config;
+
+import com.forex.ai.service.OverloadedException;
+import com.forex.ai.service.UnknownInstrumentException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API Exception Handler
+ * Maps load shedding to 503 + Retry-After so clients back off instead of retrying hot,
+ * and unknown instruments to 404.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<Map<String, String>> overloaded(OverloadedException e) {
+        Map<String, String> body = new HashMap<>();
+        body.put("status", "OVERLOADED");
+        body.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    @ExceptionHandler(UnknownInstrumentException.class)
+    public ResponseEntity<Map<String, String>> unknownInstrument(UnknownInstrumentException e) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+}
@@ -0,0 +1,51 @@
+package com.forex.ai.config;
+
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.event.PredictionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+
+/**
+ * Event Configuration
+ * Prediction and bar-close listeners run on the publisher's thread. A listener that
+ * throws is logged and skipped, so it can neither fail the prediction nor keep the
+ * other listeners from running. Framework events keep the default behaviour.
+ */
+@Slf4j
+@Configuration
+public class EventConfig {
+
+    @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public static ApplicationEventMulticaster applicationEventMulticaster(BeanFactory beanFactory) {
+        return new IsolatingMulticaster(beanFactory);
+    }
+
+    static final class IsolatingMulticaster extends SimpleApplicationEventMulticaster {
+
+        IsolatingMulticaster(BeanFactory beanFactory) {
+            super(beanFactory);
+        }
+
+        @Override
+        protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+            Object payload = event instanceof PayloadApplicationEvent<?> p ? p.getPayload() : null;
+            if (!(payload instanceof PredictionEvent) && !(payload instanceof BarCloseEvent)) {
+                super.invokeListener(listener, event);
+                return;
+            }
+            try {
+                super.invokeListener(listener, event);
+            } catch (RuntimeException e) {
+                log.error("❌ {} listener failed: {}", payload.getClass().getSimpleName(), e.toString(), e);
+            }
+        }
+    }
+}
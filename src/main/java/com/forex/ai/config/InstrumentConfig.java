@@ -0,0 +1,37 @@
+package com.forex.ai.config;
+
+import com.forex.ai.model.Instrument;
+import com.forex.ai.service.InstrumentRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrument Configuration
+ * Builds the instrument registry from forex.instruments[n].* properties.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(InstrumentConfig.InstrumentProperties.class)
+public class InstrumentConfig {
+
+    @Bean
+    public InstrumentRegistry instrumentRegistry(InstrumentProperties properties) {
+        InstrumentRegistry registry = new InstrumentRegistry(properties.getInstruments());
+        log.info("💱 {} instruments loaded", registry.size());
+        return registry;
+    }
+
+    @Data
+    @ConfigurationProperties(prefix = "forex")
+    public static class InstrumentProperties {
+
+        private List<Instrument> instruments = new ArrayList<>();
+    }
+}
@@ -0,0 +1,41 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.service.DriftMonitorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Drift REST Controller
+ * How far live model inputs are from the training data.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex/drift")
+@RequiredArgsConstructor
+public class DriftController {
+
+    private final DriftMonitorService driftMonitorService;
+
+    /**
+     * 🌊 Drift status of all pairs
+     * GET /api/forex/drift
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> summary() {
+        return ResponseEntity.ok(driftMonitorService.getSummary());
+    }
+
+    /**
+     * 🌊 Feature statistics and drift scores of a pair
+     * GET /api/forex/drift/EURUSD
+     */
+    @GetMapping("/{pair}")
+    public ResponseEntity<Map<String, Object>> pair(@PathVariable String pair) {
+        Map<String, Object> report = driftMonitorService.getReport(pair);
+        return report == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(report);
+    }
+}
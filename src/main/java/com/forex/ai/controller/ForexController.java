@@ -1,11 +1,25 @@
 package com.forex.ai.controller;
 
+import com.forex.ai.concurrent.SingleFlight;
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.ml.QuantizationReport;
 import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
 import com.forex.ai.model.PredictionResult;
+import com.forex.ai.model.SignalSnapshot;
+import com.forex.ai.model.Timeframe;
+import com.forex.ai.service.AdmissionControlService;
 import com.forex.ai.service.ForexDataService;
+import com.forex.ai.service.InstrumentRegistry;
+import com.forex.ai.service.SignalEngineService;
+import com.forex.ai.service.TimeframePredictionService;
+import com.forex.ai.service.UnknownInstrumentException;
+import com.forex.ai.service.WarmupService;
 import com.forex.ai.service.WekaModelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +39,17 @@ public class ForexController {
 
     private final WekaModelService wekaModelService;
     private final ForexDataService forexDataService;
+    private final TimeframePredictionService timeframePredictionService;
+    private final WarmupService warmupService;
+    private final AdmissionControlService admissionControlService;
+    private final InstrumentRegistry instrumentRegistry;
+    private final SignalEngineService signalEngineService;
+
+    // Concurrent requests for the same pair within the same 1m bar share one prediction
+    private final SingleFlight<PairBar, Map<String, Object>> simulateFlights = new SingleFlight<>();
+    private final SingleFlight<Long, List<Map<String, Object>>> predictAllFlights = new SingleFlight<>();
+
+    private record PairBar(int instrumentId, long barOpenTime, boolean explain) {}
 
     /**
      * ✅ Check API Health
@@ -39,6 +64,19 @@ public class ForexController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 🚦 Readiness for the load balancer
+     * GET /api/forex/ready
+     *
+     * 503 until the JIT warm-up has finished, 200 afterwards.
+     * /health only says the process is alive.
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        HttpStatus status = warmupService.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(warmupService.getStatus());
+    }
+
     /**
      * 🔮 Get a prediction with your own data
      * POST /api/forex/predict
@@ -57,11 +95,24 @@ public class ForexController {
      *   "close": 1.0810,
      *   "volume": 15000
      * }
+     *
+     * ?explain=true adds TreeSHAP feature attributions to the result.
+     * The warm-up marks its requests with the X-Forex-Synthetic header carrying a random
+     * per-process token; any other value is an ordinary request.
      */
     @PostMapping("/predict")
-    public ResponseEntity<PredictionResult> predict(@RequestBody ForexData forexData) {
-        log.info("🔮 Prediction request: {}", forexData.getPair());
-        PredictionResult result = wekaModelService.predict(forexData);
+    public ResponseEntity<PredictionResult> predict(
+            @RequestBody ForexData forexData,
+            @RequestParam(defaultValue = "false") boolean explain,
+            @RequestHeader(value = WarmupService.SYNTHETIC_HEADER, required = false) String syntheticToken) {
+        PredictionEvent.Source source = warmupService.isSyntheticToken(syntheticToken)
+                ? PredictionEvent.Source.SYNTHETIC : PredictionEvent.Source.REQUEST;
+        if (source == PredictionEvent.Source.REQUEST) {
+            log.info("🔮 Prediction request: {}", forexData.getPair());
+        }
+        Instrument instrument = instrumentRegistry.find(forexData.getPair());
+        PredictionResult result = admissionControlService.call(
+                () -> wekaModelService.predict(instrument, forexData, source, explain));
         return ResponseEntity.ok(result);
     }
 
@@ -69,22 +120,52 @@ public class ForexController {
      * 🎲 Predict with simulated data
      * GET /api/forex/predict/simulate/{pair}
      *
-     * Example: GET /api/forex/predict/simulate/EURUSD
+     * Example: GET /api/forex/predict/simulate/EURUSD?explain=true
      */
     @GetMapping("/predict/simulate/{pair}")
     public ResponseEntity<Map<String, Object>> predictSimulated(
-            @PathVariable String pair) {
+            @PathVariable String pair,
+            @RequestParam(defaultValue = "false") boolean explain) {
 
         log.info("🎲 Simulation request: {}", pair);
 
-        ForexData data = forexDataService.generateSimulatedData(pair);
-        PredictionResult result = wekaModelService.predict(data);
+        Instrument instrument = instrument(pair);
+        PairBar key = new PairBar(instrument.getId(), currentBar(), explain);
+        Map<String, Object> response = admissionControlService.coalesce(simulateFlights, key,
+                () -> simulate(instrument, explain));
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> simulate(Instrument instrument, boolean explain) {
+        ForexData data = forexDataService.generateSimulatedData(instrument);
+        PredictionResult result = wekaModelService.predict(instrument, data, PredictionEvent.Source.SIMULATED, explain);
 
         Map<String, Object> response = new HashMap<>();
         response.put("input", data);
         response.put("prediction", result);
+        return response;
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * 🕯️ Latest bar-close prediction for a pair and timeframe
+     * GET /api/forex/predict/{pair}/{timeframe}
+     *
+     * Example: GET /api/forex/predict/EURUSD/1h
+     * Bars are built from ticks posted to /api/forex/ticks.
+     */
+    @GetMapping("/predict/{pair}/{timeframe}")
+    public ResponseEntity<PredictionResult> predictTimeframe(
+            @PathVariable String pair, @PathVariable String timeframe) {
+
+        Timeframe tf;
+        try {
+            tf = Timeframe.fromKey(timeframe);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PredictionResult result = timeframePredictionService.getLatest(pair, tf);
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
     }
 
     /**
@@ -98,18 +179,22 @@ public class ForexController {
             @PathVariable String pair) {
 
         log.info("📊 Scenario tests: {}", pair);
+        Instrument instrument = instrument(pair);
+        return ResponseEntity.ok(admissionControlService.call(() -> scenarios(instrument)));
+    }
 
+    private Map<String, Object> scenarios(Instrument instrument) {
         // Oversold → BUY expected
-        ForexData oversold = forexDataService.generateOversoldData(pair);
-        PredictionResult buyResult = wekaModelService.predict(oversold);
+        ForexData oversold = forexDataService.generateOversoldData(instrument);
+        PredictionResult buyResult = wekaModelService.predict(instrument, oversold, PredictionEvent.Source.SYNTHETIC, false);
 
         // Overbought → SELL expected
-        ForexData overbought = forexDataService.generateOverboughtData(pair);
-        PredictionResult sellResult = wekaModelService.predict(overbought);
+        ForexData overbought = forexDataService.generateOverboughtData(instrument);
+        PredictionResult sellResult = wekaModelService.predict(instrument, overbought, PredictionEvent.Source.SYNTHETIC, false);
 
         // Neutral → HOLD expected
-        ForexData neutral = forexDataService.generateNeutralData(pair);
-        PredictionResult holdResult = wekaModelService.predict(neutral);
+        ForexData neutral = forexDataService.generateNeutralData(instrument);
+        PredictionResult holdResult = wekaModelService.predict(instrument, neutral, PredictionEvent.Source.SYNTHETIC, false);
 
         Map<String, Object> scenarios = new HashMap<>();
 
@@ -134,33 +219,116 @@ public class ForexController {
         holdScenario.put("result", holdResult);
         scenarios.put("hold_scenario", holdScenario);
 
-        return ResponseEntity.ok(scenarios);
+        return scenarios;
     }
 
     /**
      * 📈 Predict multiple currency pairs at once
      * GET /api/forex/predict/all
+     *
+     * Served from the latest bar-close snapshot; the Age header is the age of its least
+     * recently updated pair.
+     * Until ticks have closed a bar, simulated signals are computed on demand instead
+     * and marked "source": "simulated".
      */
     @GetMapping("/predict/all")
     public ResponseEntity<List<Map<String, Object>>> predictAll() {
+        SignalSnapshot snapshot = signalEngineService.getSnapshot();
+        if (snapshot != null) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, String.valueOf(snapshot.ageMillis(System.currentTimeMillis()) / 1000))
+                    .body(snapshot.getSignals());
+        }
+        List<Map<String, Object>> results = admissionControlService.coalesce(predictAllFlights, currentBar(),
+                this::computeAll);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * 📡 Latest bar-close signals of all pairs, with staleness
+     * GET /api/forex/signals
+     */
+    @GetMapping("/signals")
+    public ResponseEntity<Map<String, Object>> signals() {
+        SignalSnapshot snapshot = signalEngineService.getSnapshot();
+        if (snapshot == null) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        Map<String, Object> response = signalEngineService.describe(snapshot);
+        response.put("signals", signalEngineService.describeSignals(snapshot));
+        response.put("engine", signalEngineService.getStats());
+        return ResponseEntity.ok(response);
+    }
 
-        List<String> pairs = List.of("EURUSD", "GBPUSD", "USDJPY", "AUDUSD");
+    /**
+     * 📡 Latest bar-close signal of one pair
+     * GET /api/forex/signals/{pair}
+     */
+    @GetMapping("/signals/{pair}")
+    public ResponseEntity<Map<String, Object>> signal(@PathVariable String pair) {
+        Instrument instrument = instrument(pair);
+        SignalSnapshot snapshot = signalEngineService.getSnapshot();
+        Map<String, Object> signal = snapshot == null ? null : signalEngineService.describeSignal(snapshot, instrument);
+        return signal == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(signal);
+    }
 
-        List<Map<String, Object>> results = pairs.stream().map(pair -> {
-            ForexData data = forexDataService.generateSimulatedData(pair);
-            PredictionResult result = wekaModelService.predict(data);
+    private List<Map<String, Object>> computeAll() {
+        return instrumentRegistry.all().stream().map(this::simulatedSignal).toList();
+    }
 
-            Map<String, Object> item = new HashMap<>();
-            item.put("pair", pair);
-            item.put("signal", result.getSignal());
-            item.put("confidence", result.getConfidence() + "%");
-            item.put("shouldTrade", result.isShouldTrade());
-            item.put("riskLevel", result.getRiskLevel());
-            item.put("reason", result.getReason());
-            return item;
-        }).toList();
+    private Map<String, Object> simulatedSignal(Instrument instrument) {
+        ForexData data = forexDataService.generateSimulatedData(instrument);
+        PredictionResult result = wekaModelService.predict(instrument, data, PredictionEvent.Source.SIMULATED, false);
+        Map<String, Object> item = SignalEngineService.toItem(instrument, result);
+        item.put("source", "simulated");
+        return item;
+    }
 
-        return ResponseEntity.ok(results);
+    private Instrument instrument(String pair) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        if (instrument == null) throw new UnknownInstrumentException(pair);
+        return instrument;
+    }
+
+    private static long currentBar() {
+        return Timeframe.M1.barOpenTime(System.currentTimeMillis());
+    }
+
+    /**
+     * 🚧 Admission control and request coalescing statistics
+     * GET /api/forex/admission
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> admission() {
+        Map<String, Object> response = new HashMap<>(admissionControlService.getStats());
+        response.put("coalesced", Map.of(
+                "simulate", coalescingStats(simulateFlights),
+                "predictAll", coalescingStats(predictAllFlights)));
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> coalescingStats(SingleFlight<?, ?> flights) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("computed", flights.getComputed());
+        stats.put("shared", flights.getShared());
+        stats.put("timedOut", flights.getTimedOut());
+        stats.put("inFlight", flights.getInFlight());
+        return stats;
+    }
+
+    /**
+     * 🗜️ Quantized forest vs full precision (agreement, size, scoring time)
+     * GET /api/forex/model/quantization
+     */
+    @GetMapping("/model/quantization")
+    public ResponseEntity<Map<String, Object>> quantization() {
+        // The first request per model scores the validation set several times
+        QuantizationReport report = admissionControlService.call(wekaModelService::getQuantizationReport);
+        if (report == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Only random-forest models can be quantized");
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(report.toMap());
     }
 
     /**
@@ -188,15 +356,34 @@ public class ForexController {
         info.put("name", "Forex AI Bot");
         info.put("version", "1.0.0");
         info.put("technology", "Spring Boot + Weka ML");
-        info.put("supported_pairs", List.of("EURUSD", "GBPUSD", "USDJPY", "AUDUSD", "USDCHF"));
+        info.put("supported_pairs", instrumentRegistry.symbols());
 
         Map<String, String> endpoints = new HashMap<>();
         endpoints.put("GET  /api/forex/health", "API health check");
-        endpoints.put("POST /api/forex/predict", "Predict with your own data");
-        endpoints.put("GET  /api/forex/predict/simulate/{pair}", "Predict with simulation");
+        endpoints.put("GET  /api/forex/ready", "Readiness (503 until JIT warm-up is done)");
+        endpoints.put("POST /api/forex/predict", "Predict with your own data (?explain=true for attributions)");
+        endpoints.put("GET  /api/forex/predict/simulate/{pair}", "Predict with simulation (?explain=true for attributions)");
+        endpoints.put("GET  /api/forex/predict/{pair}/{timeframe}", "Latest bar-close prediction (1m, 5m, 15m, 1h, 4h)");
         endpoints.put("GET  /api/forex/test/scenarios/{pair}", "Test 3 scenarios");
-        endpoints.put("GET  /api/forex/predict/all", "Predict for all pairs");
+        endpoints.put("GET  /api/forex/predict/all", "Predict for all pairs (latest bar-close snapshot)");
+        endpoints.put("GET  /api/forex/signals", "Bar-close signal snapshot with staleness");
+        endpoints.put("GET  /api/forex/signals/{pair}", "Bar-close signal of a pair");
         endpoints.put("POST /api/forex/model/retrain", "Retrain the model");
+        endpoints.put("GET  /api/forex/model/quantization", "Quantized forest agreement, size and speed");
+        endpoints.put("GET  /api/forex/admission", "Admission control and request coalescing stats");
+        endpoints.put("GET  /api/forex/shadow", "Champion/challenger report");
+        endpoints.put("POST /api/forex/shadow/challengers/{name}", "Register a challenger model");
+        endpoints.put("DELETE /api/forex/shadow/challengers/{name}", "Remove a challenger model");
+        endpoints.put("POST /api/forex/ticks", "Ingest price ticks");
+        endpoints.put("GET  /api/forex/bars/{pair}/{timeframe}", "Closed bars of a timeframe");
+        endpoints.put("GET  /api/forex/journal", "Recorded predictions in a time range");
+        endpoints.put("GET  /api/forex/journal/stats", "Prediction journal statistics");
+        endpoints.put("GET  /api/forex/drift", "Input drift status of all pairs");
+        endpoints.put("GET  /api/forex/drift/{pair}", "Feature statistics and drift scores of a pair");
+        endpoints.put("GET  /api/forex/risk", "Correlated exposure and top pair correlations");
+        endpoints.put("GET  /api/forex/paper", "Paper trading portfolio");
+        endpoints.put("GET  /api/forex/paper/{pair}", "Paper trading state of a pair");
+        endpoints.put("POST /api/forex/paper/reset", "Reset paper trading");
         info.put("endpoints", endpoints);
 
         return ResponseEntity.ok(info);
@@ -0,0 +1,50 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.model.JournalRecord;
+import com.forex.ai.service.PredictionJournalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prediction Journal REST Controller
+ * Audit trail of past predictions.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex/journal")
+@RequiredArgsConstructor
+public class JournalController {
+
+    private final PredictionJournalService predictionJournalService;
+
+    /**
+     * 📒 Predictions in a time range
+     * GET /api/forex/journal?from=1705329000000&to=1705332600000&pair=EURUSD&limit=100
+     *
+     * from/to are epoch milliseconds; both are optional.
+     */
+    @GetMapping
+    public ResponseEntity<List<JournalRecord>> find(
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(required = false) String pair,
+            @RequestParam(defaultValue = "100") int limit) throws IOException {
+
+        return ResponseEntity.ok(predictionJournalService.find(from, to, pair, limit));
+    }
+
+    /**
+     * 📒 Journal statistics
+     * GET /api/forex/journal/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(predictionJournalService.getStats());
+    }
+}
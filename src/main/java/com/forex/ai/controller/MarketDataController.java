@@ -0,0 +1,96 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.Tick;
+import com.forex.ai.model.Timeframe;
+import com.forex.ai.service.BarAggregationService;
+import com.forex.ai.service.UnknownInstrumentException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Market Data REST Controller
+ * Tick ingestion and multi-timeframe bars.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex")
+@RequiredArgsConstructor
+public class MarketDataController {
+
+    private final BarAggregationService barAggregationService;
+
+    /**
+     * 📥 Ingest ticks
+     * POST /api/forex/ticks
+     *
+     * Body example:
+     * [
+     *   { "pair": "EURUSD", "price": 1.08512, "volume": 3, "timestamp": 1705329022000 }
+     * ]
+     *
+     * The batch is validated before any tick is applied: an invalid tick rejects the whole
+     * batch with 400 (an unknown pair with 404), so it can be fixed and resent as a whole.
+     */
+    @PostMapping("/ticks")
+    public ResponseEntity<Map<String, Object>> ingestTicks(@RequestBody List<Tick> ticks) {
+        for (int i = 0; i < ticks.size(); i++) {
+            try {
+                barAggregationService.validate(ticks.get(i));
+            } catch (UnknownInstrumentException e) {
+                throw e;
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", e.getMessage());
+                error.put("index", i);
+                return ResponseEntity.badRequest().body(error);
+            }
+        }
+
+        int barsClosed = 0;
+        int late = 0;
+        for (Tick tick : ticks) {
+            int closed = barAggregationService.onTick(tick);
+            if (closed < 0) {
+                late++;
+            } else {
+                barsClosed += closed;
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("accepted", ticks.size() - late);
+        response.put("late", late);
+        response.put("barsClosed", barsClosed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 🕯️ Closed bars of a pair and timeframe
+     * GET /api/forex/bars/{pair}/{timeframe}?limit=100
+     *
+     * Example: GET /api/forex/bars/EURUSD/15m
+     * A negative limit is a bad request.
+     */
+    @GetMapping("/bars/{pair}/{timeframe}")
+    public ResponseEntity<List<Bar>> bars(@PathVariable String pair,
+                                          @PathVariable String timeframe,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Timeframe tf;
+        try {
+            tf = Timeframe.fromKey(timeframe);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(barAggregationService.getBars(pair, tf, limit));
+    }
+}
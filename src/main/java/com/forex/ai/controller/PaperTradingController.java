@@ -0,0 +1,67 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.model.PaperTradingSnapshot;
+import com.forex.ai.service.PaperTradingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paper Trading REST Controller
+ * Read-only view of the simulated positions opened from model signals.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex/paper")
+@RequiredArgsConstructor
+public class PaperTradingController {
+
+    private final PaperTradingService paperTradingService;
+
+    /**
+     * 🧾 Portfolio overview
+     * GET /api/forex/paper
+     *
+     * PnL and exposure are in each pair's quote currency, so totals are per quote currency.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> portfolio() {
+        List<PaperTradingSnapshot> pairs = paperTradingService.getSnapshots();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("pairs", pairs);
+        response.put("openPositions", pairs.stream().filter(p -> p.getPosition() != null).count());
+        response.put("totalsByQuoteCurrency", paperTradingService.getTotalsByQuoteCurrency(pairs));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 🧾 State of one pair
+     * GET /api/forex/paper/{pair}
+     */
+    @GetMapping("/{pair}")
+    public ResponseEntity<PaperTradingSnapshot> pair(@PathVariable String pair) {
+        PaperTradingSnapshot snapshot = paperTradingService.getSnapshot(pair);
+        return snapshot == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(snapshot);
+    }
+
+    /**
+     * 🔄 Close everything and start over
+     * POST /api/forex/paper/reset
+     */
+    @PostMapping("/reset")
+    public ResponseEntity<Map<String, String>> reset() {
+        log.info("🔄 Resetting paper trading...");
+        paperTradingService.reset();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("status", "✅ Paper trading reset");
+        response.put("timestamp", java.time.LocalDateTime.now().toString());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.service.CorrelationRiskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Risk REST Controller
+ * Cross-pair correlation and exposure of the paper portfolio.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex/risk")
+@RequiredArgsConstructor
+public class RiskController {
+
+    private final CorrelationRiskService correlationRiskService;
+
+    /**
+     * 🕸️ Correlated exposure of open positions and the most correlated pairs
+     * GET /api/forex/risk?top=10
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> report(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(correlationRiskService.getReport(Math.max(0, top)));
+    }
+}
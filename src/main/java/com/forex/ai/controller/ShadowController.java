@@ -0,0 +1,72 @@
+package com.forex.ai.controller;
+
+import com.forex.ai.ml.ModelAlgorithm;
+import com.forex.ai.service.ShadowScoringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shadow Scoring REST Controller
+ * Register challenger models and compare them with the live model.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forex/shadow")
+@RequiredArgsConstructor
+public class ShadowController {
+
+    private final ShadowScoringService shadowScoringService;
+
+    /**
+     * 🥊 Champion/challenger report
+     * GET /api/forex/shadow
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> report() {
+        return ResponseEntity.ok(shadowScoringService.getReport());
+    }
+
+    /**
+     * 🥊 Train and register a challenger
+     * POST /api/forex/shadow/challengers/{name}?algorithm=histogram-gbdt
+     *
+     * ?quantized=true serves a random-forest challenger as a quantized forest.
+     */
+    @PostMapping("/challengers/{name}")
+    public ResponseEntity<Map<String, String>> register(@PathVariable String name,
+                                                        @RequestParam String algorithm,
+                                                        @RequestParam(defaultValue = "false") boolean quantized) {
+        Map<String, String> response = new HashMap<>();
+        try {
+            shadowScoringService.register(name, ModelAlgorithm.fromKey(algorithm), quantized);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("Challenger training failed: {}", e.getMessage());
+            response.put("error", "Challenger training failed: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+
+        response.put("status", "✅ Challenger registered");
+        response.put("name", name);
+        response.put("algorithm", algorithm);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 🥊 Stop shadowing a challenger
+     * DELETE /api/forex/shadow/challengers/{name}
+     */
+    @DeleteMapping("/challengers/{name}")
+    public ResponseEntity<Void> remove(@PathVariable String name) {
+        return shadowScoringService.remove(name)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.forex.ai.event;
+
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by BarAggregationService whenever a bar of any timeframe closes.
+ * {@code features} is null while the series' indicators are still warming up.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BarCloseEvent {
+
+    private final Instrument instrument;
+    private final Bar bar;
+    private final ForexData features;
+}
@@ -0,0 +1,49 @@
+package com.forex.ai.event;
+
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PredictionResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by WekaModelService after every successful prediction.
+ * Listeners run on the caller's thread, so they must stay cheap.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PredictionEvent {
+
+    /**
+     * Where the input came from. Only bar closes are market data; listeners that act
+     * on the market (paper trading) must ignore the rest, and listeners that describe
+     * live input (journal, drift, shadow) only take bar closes and client requests.
+     */
+    public enum Source {
+        BAR_CLOSE,   // features of a closed bar
+        REQUEST,     // client-supplied input
+        SIMULATED,   // random input generated for a client (/predict/simulate, /predict/all fallback)
+        SYNTHETIC    // scenarios and warm-up: listeners must not record anything
+    }
+
+    private final ForexData data;
+    private final PredictionResult result;
+
+    // Registry entry of the pair, null if the pair is not configured
+    private final Instrument instrument;
+
+    private final Source source;
+
+    // Version of the model that produced the result
+    private final String modelVersion;
+
+    // Time spent inside the classifier
+    private final long inferenceNanos;
+
+    /**
+     * Whether the input is real: market data or supplied by a client, not generated.
+     */
+    public boolean isLiveInput() {
+        return source == Source.BAR_CLOSE || source == Source.REQUEST;
+    }
+}
@@ -0,0 +1,135 @@
+package com.forex.ai.indicator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Bulk Indicators
+ * RSI, MACD, EMA, Bollinger Bands and ATR over whole price histories in column layout,
+ * for building training sets and backtests.
+ *
+ * Same definitions as {@link StreamingIndicators}. The recursive parts (EMA, MACD, RSI,
+ * ATR) cannot be vectorized over time; they run as one fused scalar pass with the
+ * streaming formulas, so they match exactly. Bollinger is independent per bar and does
+ * most of the arithmetic; it uses the Java Vector API when the build includes
+ * {@code VectorKernels} (Maven profile {@code vector}) and the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, plain loops otherwise. It sums each window
+ * oldest first, while the streaming ring buffer sums in slot order, so bands agree to
+ * rounding (~1e-15 relative).
+ *
+ * Set {@code -Dforex.indicators.vector=false} to force the scalar kernels.
+ */
+@Slf4j
+public final class BulkIndicators {
+
+    private static final IndicatorKernels KERNELS = loadKernels();
+
+    private BulkIndicators() {
+    }
+
+    /**
+     * Indicators of one pair.
+     */
+    public static IndicatorColumns compute(PriceColumns prices) {
+        return compute(prices, KERNELS);
+    }
+
+    /**
+     * Indicators of several pairs, one pair per task on the common fork-join pool.
+     * Results are in input order.
+     */
+    public static List<IndicatorColumns> computeAll(List<PriceColumns> pairs) {
+        return pairs.parallelStream().map(BulkIndicators::compute).toList();
+    }
+
+    /**
+     * "vector-NxBITS" or "scalar".
+     */
+    public static String implementation() {
+        return KERNELS.name();
+    }
+
+    static IndicatorColumns compute(PriceColumns prices, IndicatorKernels kernels) {
+        int n = prices.size();
+        double[] high = prices.high();
+        double[] low = prices.low();
+        double[] close = prices.close();
+
+        double[] rsi = new double[n];
+        double[] macd = new double[n];
+        double[] macdSignal = new double[n];
+        double[] emaFast = new double[n];
+        double[] emaSlow = new double[n];
+        double[] bbUpper = new double[n];
+        double[] bbLower = new double[n];
+        double[] atr = new double[n];
+
+        kernels.bollinger(close, StreamingIndicators.BB_PERIOD, StreamingIndicators.BB_WIDTH, bbUpper, bbLower);
+        if (n == 0) {
+            return new IndicatorColumns(prices.pair(), rsi, macd, macdSignal, emaFast, emaSlow, bbUpper, bbLower, atr);
+        }
+
+        // The recursions in one pass, so each input column is read once
+        double alphaFast = StreamingIndicators.ema(StreamingIndicators.EMA_FAST);
+        double alphaSlow = StreamingIndicators.ema(StreamingIndicators.EMA_SLOW);
+        double alphaSignal = StreamingIndicators.ema(StreamingIndicators.MACD_SIGNAL);
+
+        double fast = close[0];
+        double slow = close[0];
+        double signal = 0.0;
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+        double range = high[0] - low[0];
+        emaFast[0] = fast;
+        emaSlow[0] = slow;
+        macd[0] = 0.0;
+        macdSignal[0] = signal;
+        rsi[0] = 50.0;
+        atr[0] = range;
+
+        for (int i = 1; i < n; i++) {
+            double c = close[i];
+            double prev = close[i - 1];
+
+            fast += alphaFast * (c - fast);
+            slow += alphaSlow * (c - slow);
+            signal += alphaSignal * ((fast - slow) - signal);
+
+            double change = c - prev;
+            avgGain = StreamingIndicators.wilder(avgGain, Math.max(change, 0.0), i, StreamingIndicators.RSI_PERIOD);
+            avgLoss = StreamingIndicators.wilder(avgLoss, Math.max(-change, 0.0), i, StreamingIndicators.RSI_PERIOD);
+
+            double trueRange = Math.max(high[i] - low[i],
+                    Math.max(Math.abs(high[i] - prev), Math.abs(low[i] - prev)));
+            range = StreamingIndicators.wilder(range, trueRange, i + 1, StreamingIndicators.ATR_PERIOD);
+
+            emaFast[i] = fast;
+            emaSlow[i] = slow;
+            macd[i] = fast - slow;
+            macdSignal[i] = signal;
+            rsi[i] = StreamingIndicators.rsi(avgGain, avgLoss);
+            atr[i] = range;
+        }
+        return new IndicatorColumns(prices.pair(), rsi, macd, macdSignal, emaFast, emaSlow, bbUpper, bbLower, atr);
+    }
+
+    private static IndicatorKernels loadKernels() {
+        if (!Boolean.parseBoolean(System.getProperty("forex.indicators.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarKernels.INSTANCE;
+        }
+        try {
+            // By name, so this class still loads when the module or the kernels class is absent
+            return (IndicatorKernels) Class.forName("com.forex.ai.indicator.VectorKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API kernels unavailable, using scalar loops: {}", e.toString());
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+    static IndicatorKernels vectorKernelsOrNull() {
+        return KERNELS instanceof ScalarKernels ? null : KERNELS;
+    }
+}
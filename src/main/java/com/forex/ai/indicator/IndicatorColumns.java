@@ -0,0 +1,29 @@
+package com.forex.ai.indicator;
+
+/**
+ * Indicator Columns
+ * Indicator values per bar; element i is what {@link StreamingIndicators} reports
+ * after bar i has been fed.
+ */
+public record IndicatorColumns(
+        String pair,
+        double[] rsi,
+        double[] macd,
+        double[] macdSignal,
+        double[] emaFast,
+        double[] emaSlow,
+        double[] bbUpper,
+        double[] bbLower,
+        double[] atr) {
+
+    public int size() {
+        return rsi.length;
+    }
+
+    /**
+     * Index of the first bar at which every indicator has passed its seeding period.
+     */
+    public static int firstWarmBar() {
+        return StreamingIndicators.WARMUP_BARS - 1;
+    }
+}
@@ -0,0 +1,16 @@
+package com.forex.ai.indicator;
+
+/**
+ * Bollinger Bands over a whole close column, the one indicator step that is
+ * independent per bar and heavy enough to vectorize. Implementations must agree bit for bit.
+ */
+interface IndicatorKernels {
+
+    String name();
+
+    /**
+     * Mean +/- width population standard deviations of the last (up to) {@code period}
+     * closes, both summed oldest first.
+     */
+    void bollinger(double[] close, int period, double width, double[] upper, double[] lower);
+}
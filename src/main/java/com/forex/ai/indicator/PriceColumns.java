@@ -0,0 +1,19 @@
+package com.forex.ai.indicator;
+
+/**
+ * Price Columns
+ * Closed bars of one pair in column layout, oldest first.
+ */
+public record PriceColumns(String pair, double[] high, double[] low, double[] close, double[] volume) {
+
+    public PriceColumns {
+        int n = close.length;
+        if (high.length != n || low.length != n || volume.length != n) {
+            throw new IllegalArgumentException("All price columns must have the same length");
+        }
+    }
+
+    public int size() {
+        return close.length;
+    }
+}
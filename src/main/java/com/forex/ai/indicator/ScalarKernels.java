@@ -0,0 +1,38 @@
+package com.forex.ai.indicator;
+
+/**
+ * Plain loops; used when the Vector API module is not available.
+ */
+final class ScalarKernels implements IndicatorKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void bollinger(double[] close, int period, double width, double[] upper, double[] lower) {
+        for (int i = 0; i < close.length; i++) bollinger(close, i, period, width, upper, lower);
+    }
+
+    static void bollinger(double[] close, int i, int period, double width, double[] upper, double[] lower) {
+        int n = Math.min(i + 1, period);
+        int from = i - n + 1;
+        double sum = 0.0;
+        for (int k = from; k <= i; k++) sum += close[k];
+        double mean = sum / n;
+        double squares = 0.0;
+        for (int k = from; k <= i; k++) {
+            double d = close[k] - mean;
+            squares += d * d;
+        }
+        double std = Math.sqrt(squares / n);
+        upper[i] = mean + width * std;
+        lower[i] = mean - width * std;
+    }
+}
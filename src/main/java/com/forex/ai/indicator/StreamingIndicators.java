@@ -0,0 +1,151 @@
+package com.forex.ai.indicator;
+
+/**
+ * Streaming Indicators
+ * Incremental RSI, MACD, EMA, Bollinger Bands and ATR over closed bars, O(1) per bar
+ * (Bollinger is O(period)).
+ *
+ * Definitions:
+ * <ul>
+ *   <li>EMA(n): alpha = 2 / (n + 1), seeded with the first value.</li>
+ *   <li>MACD = EMA(12) - EMA(26); signal = EMA(9) of MACD.</li>
+ *   <li>RSI(14), ATR(14): Wilder smoothing, seeded with the simple mean of the
+ *       values seen so far until 14 are available. The first bar's true range is high - low.</li>
+ *   <li>Bollinger(20, 2): mean +/- 2 population standard deviations of the last
+ *       (up to) 20 closes.</li>
+ * </ul>
+ * The bulk implementation must produce the same numbers.
+ */
+public final class StreamingIndicators {
+
+    public static final int EMA_FAST = 12;
+    public static final int EMA_SLOW = 26;
+    public static final int MACD_SIGNAL = 9;
+    public static final int RSI_PERIOD = 14;
+    public static final int ATR_PERIOD = 14;
+    public static final int BB_PERIOD = 20;
+    public static final double BB_WIDTH = 2.0;
+
+    /** Bars needed before every indicator has passed its seeding period. */
+    public static final int WARMUP_BARS = EMA_SLOW + MACD_SIGNAL;
+
+    private long bars;
+    private double prevClose;
+
+    private double emaFast;
+    private double emaSlow;
+    private double macdSignal;
+
+    private double avgGain;
+    private double avgLoss;
+    private double atr;
+
+    private final double[] window = new double[BB_PERIOD];
+    private double bbUpper;
+    private double bbLower;
+
+    private double rsi = 50.0;
+
+    /**
+     * Feed one closed bar.
+     */
+    public void update(double high, double low, double close) {
+        if (bars == 0) {
+            emaFast = close;
+            emaSlow = close;
+            macdSignal = 0.0;
+            atr = high - low;
+        } else {
+            emaFast += ema(EMA_FAST) * (close - emaFast);
+            emaSlow += ema(EMA_SLOW) * (close - emaSlow);
+            macdSignal += ema(MACD_SIGNAL) * ((emaFast - emaSlow) - macdSignal);
+
+            double change = close - prevClose;
+            avgGain = wilder(avgGain, Math.max(change, 0.0), bars, RSI_PERIOD);
+            avgLoss = wilder(avgLoss, Math.max(-change, 0.0), bars, RSI_PERIOD);
+            rsi = rsi(avgGain, avgLoss);
+
+            double trueRange = Math.max(high - low,
+                    Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+            atr = wilder(atr, trueRange, bars + 1, ATR_PERIOD);
+        }
+
+        window[(int) (bars % BB_PERIOD)] = close;
+        bars++;
+        updateBands();
+        prevClose = close;
+    }
+
+    private void updateBands() {
+        int n = (int) Math.min(bars, BB_PERIOD);
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) sum += window[i];
+        double mean = sum / n;
+        double squares = 0.0;
+        for (int i = 0; i < n; i++) {
+            double d = window[i] - mean;
+            squares += d * d;
+        }
+        double std = Math.sqrt(squares / n);
+        bbUpper = mean + BB_WIDTH * std;
+        bbLower = mean - BB_WIDTH * std;
+    }
+
+    static double ema(int period) {
+        return 2.0 / (period + 1);
+    }
+
+    /**
+     * Running mean while fewer than {@code period} values are known, Wilder smoothing afterwards.
+     * {@code count} is the number of values including the new one.
+     */
+    static double wilder(double average, double value, long count, int period) {
+        long n = Math.min(count, period);
+        return average + (value - average) / n;
+    }
+
+    static double rsi(double avgGain, double avgLoss) {
+        if (avgLoss == 0.0) return avgGain == 0.0 ? 50.0 : 100.0;
+        return 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+    }
+
+    public boolean isWarm() {
+        return bars >= WARMUP_BARS;
+    }
+
+    public long getBars() {
+        return bars;
+    }
+
+    public double getRsi() {
+        return rsi;
+    }
+
+    public double getMacd() {
+        return emaFast - emaSlow;
+    }
+
+    public double getMacdSignal() {
+        return macdSignal;
+    }
+
+    public double getEmaFast() {
+        return emaFast;
+    }
+
+    public double getEmaSlow() {
+        return emaSlow;
+    }
+
+    public double getBbUpper() {
+        return bbUpper;
+    }
+
+    public double getBbLower() {
+        return bbLower;
+    }
+
+    public double getAtr() {
+        return atr;
+    }
+}
@@ -0,0 +1,45 @@
+package com.forex.ai.indicator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels. Bollinger vectorizes across bars: each lane owns one bar and
+ * sums its own window oldest first, so every lane does exactly the scalar arithmetic.
+ *
+ * Only loaded by {@link BulkIndicators} when jdk.incubator.vector is in the boot layer.
+ */
+final class VectorKernels implements IndicatorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public String name() {
+        return "vector-" + LANES + "x64";
+    }
+
+    @Override
+    public void bollinger(double[] close, int period, double width, double[] upper, double[] lower) {
+        int n = close.length;
+        int i = 0;
+        // Partial windows while the first period fills up
+        for (; i < Math.min(period - 1, n); i++) ScalarKernels.bollinger(close, i, period, width, upper, lower);
+
+        for (; i + LANES <= n; i += LANES) {
+            int from = i - period + 1;
+            DoubleVector sum = DoubleVector.zero(SPECIES);
+            for (int k = 0; k < period; k++) sum = sum.add(DoubleVector.fromArray(SPECIES, close, from + k));
+            DoubleVector mean = sum.div(period);
+            DoubleVector squares = DoubleVector.zero(SPECIES);
+            for (int k = 0; k < period; k++) {
+                DoubleVector d = DoubleVector.fromArray(SPECIES, close, from + k).sub(mean);
+                squares = squares.add(d.mul(d));
+            }
+            DoubleVector band = squares.div(period).sqrt().mul(width);
+            mean.add(band).intoArray(upper, i);
+            mean.sub(band).intoArray(lower, i);
+        }
+        for (; i < n; i++) ScalarKernels.bollinger(close, i, period, width, upper, lower);
+    }
+}
@@ -0,0 +1,474 @@
+package com.forex.ai.journal;
+
+import com.forex.ai.ml.SignalFeatures;
+import com.forex.ai.model.JournalRecord;
+import com.forex.ai.model.Timeframe;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Prediction Journal
+ * Append-only log of predictions in memory-mapped segment files.
+ *
+ * Producers only enqueue into a lock-free queue and never touch the disk; a single
+ * writer thread drains it in batches. When the queue is full, records are dropped and
+ * counted rather than blocking the caller.
+ *
+ * Segment layout: a fixed header (magic, format, first sequence, min/max timestamp,
+ * record count, end offset) followed by length-prefixed records, each followed by a
+ * CRC32 of its body. A zero length or a checksum mismatch marks the end of the valid
+ * data, so a record torn by a crash is dropped on reopen instead of being replayed.
+ * Time-range reads skip whole segments by their min/max timestamps and scan the rest
+ * sequentially. Format 1 segments (no checksum) are still read.
+ */
+@Slf4j
+public final class PredictionJournal implements Closeable {
+
+    static final int MAGIC = 0x464A524E; // "FJRN"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 64;
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_FORMAT = 4;
+    private static final int OFF_FIRST_SEQUENCE = 8;
+    private static final int OFF_MIN_TIMESTAMP = 16;
+    private static final int OFF_MAX_TIMESTAMP = 24;
+    private static final int OFF_COUNT = 32;
+    private static final int OFF_END = 40;
+
+    private static final int CHECKSUM_SIZE = 4;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final ConcurrentLinkedQueue<JournalRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private volatile long written;
+    private Thread writer;
+
+    // Writer thread state
+    private Segment active;
+    private long nextSequence;
+    private long lastForce;
+    private boolean dirty;
+
+    public PredictionJournal(Path directory, int segmentSize, int queueCapacity,
+                             int batchSize, long flushIntervalMillis) {
+        if (segmentSize <= HEADER_SIZE + 1024) {
+            throw new IllegalArgumentException("segmentSize is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    }
+
+    /**
+     * Open existing segments and start the writer thread.
+     */
+    public synchronized void start() throws IOException {
+        if (running) return;
+        Files.createDirectories(directory);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(PredictionJournal::isSegmentFile).sorted().toList()) {
+                Segment segment = Segment.open(path);
+                if (segment != null) segments.add(segment);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            active = Segment.create(segmentFile(0), 0, segmentSize);
+            segments.add(active);
+        } else {
+            Segment last = segments.get(segments.size() - 1);
+            active = Segment.reopenForAppend(last, segmentSize);
+            segments.set(segments.size() - 1, active);
+        }
+        nextSequence = active.firstSequence + active.count;
+        if (active.format != FORMAT_VERSION) rollover();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "prediction-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("📒 Prediction journal open: {} ({} segments, next sequence {})",
+                directory, segments.size(), nextSequence);
+    }
+
+    /**
+     * Enqueue a record without blocking. Returns false if it was dropped.
+     */
+    public boolean append(JournalRecord record) {
+        if (!running) return false;
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(record);
+        if (writerParked) LockSupport.unpark(writer);
+        return true;
+    }
+
+    /**
+     * Read records with {@code from <= timestamp <= to} in journal order,
+     * until the consumer returns false.
+     */
+    public void replay(long from, long to, Predicate<JournalRecord> consumer) throws IOException {
+        for (Segment segment : segments) {
+            long end = segment.end;
+            if (segment.count == 0 || segment.maxTimestamp < from || segment.minTimestamp > to) continue;
+
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+                int position = HEADER_SIZE;
+                while (position < end) {
+                    int length = recordLength(buffer, position, end, segment.format);
+                    if (length < 0) {
+                        log.warn("Journal {} is corrupt at offset {}; skipping the rest of it",
+                                segment.path.getFileName(), position);
+                        break;
+                    }
+                    buffer.position(position + 4);
+                    JournalRecord record = decode(buffer);
+                    position += 4 + length + checksumSize(segment.format);
+                    if (record.getTimestamp() < from || record.getTimestamp() > to) continue;
+                    if (!consumer.test(record)) return;
+                }
+            }
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getQueueDepth() {
+        return pending.get();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Stop accepting records, drain the queue and force everything to disk.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("📒 Prediction journal closed ({} records written, {} dropped)", written, getDropped());
+    }
+
+    // =========================================
+    // WRITER THREAD
+    // =========================================
+
+    private void writeLoop() {
+        lastForce = System.nanoTime();
+        while (true) {
+            int batch = 0;
+            JournalRecord record;
+            while (batch < batchSize && (record = queue.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    write(record);
+                } catch (RuntimeException | IOException e) {
+                    dropped.increment();
+                    log.warn("Journal write failed: {}", e.getMessage());
+                }
+                batch++;
+            }
+
+            if (batch > 0) {
+                active.publishHeader();
+                dirty = true;
+            }
+
+            long now = System.nanoTime();
+            if (dirty && now - lastForce >= flushIntervalNanos) {
+                active.buffer.force();
+                lastForce = now;
+                dirty = false;
+            }
+
+            if (batch == 0) {
+                if (!running) break;
+                writerParked = true;
+                if (queue.isEmpty() && running) LockSupport.parkNanos(flushIntervalNanos);
+                writerParked = false;
+            }
+        }
+        active.publishHeader();
+        active.buffer.force();
+    }
+
+    private void write(JournalRecord record) throws IOException {
+        byte[] pair = bytes(record.getPair());
+        byte[] version = bytes(record.getModelVersion());
+        double[] features = record.getFeatures() == null
+                ? new double[SignalFeatures.NUM_FEATURES] : record.getFeatures();
+        int length = 8 + 8 + 1 + 1 + 1 + 2 + pair.length + 2 + version.length
+                + 2 + features.length * 8 + 4 * 8;
+
+        if (HEADER_SIZE + 4 + length + CHECKSUM_SIZE > segmentSize) {
+            throw new IllegalArgumentException("record does not fit in a segment");
+        }
+        // Room for the record, its checksum and a zero length after it
+        if (active.end + 4 + length + CHECKSUM_SIZE + 4 > segmentSize) {
+            rollover();
+        }
+
+        record.setSequence(nextSequence++);
+        MappedByteBuffer buffer = active.buffer;
+        buffer.position((int) active.end);
+        buffer.putInt(length);
+        buffer.putLong(record.getSequence());
+        buffer.putLong(record.getTimestamp());
+        buffer.put((byte) SignalFeatures.CLASS_VALUES.indexOf(record.getSignal()));
+        buffer.put((byte) (record.isShouldTrade() ? 1 : 0));
+        buffer.put((byte) (record.getTimeframe() == null ? -1 : record.getTimeframe().ordinal()));
+        buffer.putShort((short) pair.length).put(pair);
+        buffer.putShort((short) version.length).put(version);
+        buffer.putShort((short) features.length);
+        for (double f : features) buffer.putDouble(f);
+        buffer.putDouble(record.getBuyProbability());
+        buffer.putDouble(record.getSellProbability());
+        buffer.putDouble(record.getHoldProbability());
+        buffer.putDouble(record.getConfidence());
+        buffer.putInt(checksum(buffer, (int) active.end + 4, length));
+
+        active.onWrite(buffer.position(), record.getTimestamp());
+        written++;
+    }
+
+    private void rollover() throws IOException {
+        active.publishHeader();
+        active.buffer.force();
+        Segment next = Segment.create(segmentFile(nextSequence), nextSequence, segmentSize);
+        segments.add(next);
+        active = next;
+        log.debug("📒 Journal rolled over to {}", next.path.getFileName());
+    }
+
+    // =========================================
+    // ENCODING
+    // =========================================
+
+    private static JournalRecord decode(MappedByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        int signal = buffer.get();
+        boolean shouldTrade = buffer.get() == 1;
+        int timeframe = buffer.get();
+        String pair = string(buffer);
+        String version = string(buffer);
+        double[] features = new double[buffer.getShort()];
+        for (int i = 0; i < features.length; i++) features[i] = buffer.getDouble();
+
+        return JournalRecord.builder()
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .signal(signal >= 0 ? SignalFeatures.CLASS_VALUES.get(signal) : null)
+                .shouldTrade(shouldTrade)
+                .timeframe(timeframe >= 0 ? Timeframe.values()[timeframe] : null)
+                .pair(pair)
+                .modelVersion(version)
+                .features(features)
+                .buyProbability(buffer.getDouble())
+                .sellProbability(buffer.getDouble())
+                .holdProbability(buffer.getDouble())
+                .confidence(buffer.getDouble())
+                .build();
+    }
+
+    /**
+     * Body length of the intact record at {@code position}, or -1 if there is none
+     * (end of data, a record running past {@code limit}, or a checksum mismatch).
+     */
+    static int recordLength(ByteBuffer buffer, long position, long limit, int format) {
+        if (position + 4 > limit) return -1;
+        int length = buffer.getInt((int) position);
+        if (length <= 0 || position + 4 + length + checksumSize(format) > limit) return -1;
+        if (format >= 2 && buffer.getInt((int) position + 4 + length) != checksum(buffer, (int) position + 4, length)) {
+            return -1;
+        }
+        return length;
+    }
+
+    private static int checksumSize(int format) {
+        return format >= 2 ? CHECKSUM_SIZE : 0;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) return new byte[0];
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > Short.MAX_VALUE ? new byte[0] : bytes;
+    }
+
+    private static String string(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Path segmentFile(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    /**
+     * One segment file. Only the writer mutates it; the volatile fields are what readers see.
+     */
+    private static final class Segment {
+
+        final Path path;
+        final long firstSequence;
+        final int format;
+        final MappedByteBuffer buffer; // null for read-only (closed) segments
+
+        volatile long minTimestamp = Long.MAX_VALUE;
+        volatile long maxTimestamp = Long.MIN_VALUE;
+        volatile long count;
+        volatile long end = HEADER_SIZE;
+
+        private Segment(Path path, long firstSequence, int format, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.format = format;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long firstSequence, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(OFF_MAGIC, MAGIC);
+                buffer.putInt(OFF_FORMAT, FORMAT_VERSION);
+                buffer.putLong(OFF_FIRST_SEQUENCE, firstSequence);
+                Segment segment = new Segment(path, firstSequence, FORMAT_VERSION, buffer);
+                segment.publishHeader();
+                return segment;
+            }
+        }
+
+        /**
+         * Read a closed segment's header; returns null if the file is not a journal segment.
+         */
+        static Segment open(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() < HEADER_SIZE) return null;
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                int format = header.getInt(OFF_FORMAT);
+                if (header.getInt(OFF_MAGIC) != MAGIC || format < 1 || format > FORMAT_VERSION) {
+                    log.warn("Skipping unknown journal file {}", path);
+                    return null;
+                }
+                Segment segment = new Segment(path, header.getLong(OFF_FIRST_SEQUENCE), format, null);
+                segment.minTimestamp = header.getLong(OFF_MIN_TIMESTAMP);
+                segment.maxTimestamp = header.getLong(OFF_MAX_TIMESTAMP);
+                segment.count = header.getLong(OFF_COUNT);
+                segment.end = header.getLong(OFF_END);
+                return segment;
+            }
+        }
+
+        /**
+         * Map the last segment for writing and recover its true end by scanning
+         * (the header may be behind if the process died between batches). A torn
+         * record is cut off so new records overwrite it.
+         */
+        static Segment reopenForAppend(Segment closed, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(closed.path,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long mapped = Math.max(size, channel.size());
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped);
+                Segment segment = new Segment(closed.path, closed.firstSequence, closed.format, buffer);
+
+                int position = HEADER_SIZE;
+                int length;
+                while ((length = recordLength(buffer, position, mapped, closed.format)) > 0) {
+                    long timestamp = buffer.getLong(position + 4 + 8);
+                    position += 4 + length + checksumSize(closed.format);
+                    segment.onWrite(position, timestamp);
+                }
+                if (position + 4 <= mapped && buffer.getInt(position) != 0) {
+                    log.warn("Journal {} has a torn record at offset {}; truncating", closed.path.getFileName(), position);
+                    buffer.putInt(position, 0);
+                }
+                segment.publishHeader();
+                return segment;
+            }
+        }
+
+        void onWrite(long newEnd, long timestamp) {
+            if (timestamp < minTimestamp) minTimestamp = timestamp;
+            if (timestamp > maxTimestamp) maxTimestamp = timestamp;
+            count++;
+            end = newEnd;
+        }
+
+        void publishHeader() {
+            buffer.putLong(OFF_MIN_TIMESTAMP, minTimestamp);
+            buffer.putLong(OFF_MAX_TIMESTAMP, maxTimestamp);
+            buffer.putLong(OFF_COUNT, count);
+            buffer.putLong(OFF_END, end);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.forex.ai.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * A prepared request and the endpoint it is reported under.
+ */
+public record LoadRequest(LoadTarget target, HttpRequest request) {
+}
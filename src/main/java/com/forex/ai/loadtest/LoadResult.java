@@ -0,0 +1,214 @@
+package com.forex.ai.loadtest;
+
+import com.forex.ai.metrics.LatencyStats;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load Result
+ * Outcome of one open-loop step, per endpoint.
+ *
+ * Latency is measured from the time a request was scheduled to be sent, not from when a
+ * client thread got to send it, so time spent queued behind a slow server is counted
+ * (coordinated omission correction). Service time (send to response) is kept separately.
+ *
+ * The percentiles of successful responses alone flatter an overloaded server: requests shed
+ * with a fast 503, or never answered, drop out of them. So every request is also recorded in
+ * an all-outcomes histogram (failures at the time they gave up), and the error and shed (503)
+ * rates are reported next to the percentiles.
+ */
+public final class LoadResult {
+
+    private final double offeredRate;
+    private final Map<LoadTarget, TargetStats> targets = new EnumMap<>(LoadTarget.class);
+    private volatile long elapsedNanos;
+    private volatile long incomplete;
+
+    LoadResult(double offeredRate) {
+        this.offeredRate = offeredRate;
+        for (LoadTarget target : LoadTarget.values()) targets.put(target, new TargetStats());
+    }
+
+    void recordResponse(LoadTarget target, int status, long intendedNanos, long sentNanos, long endNanos) {
+        TargetStats stats = targets.get(target);
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        stats.all.record(endNanos - intendedNanos);
+        if (status >= 200 && status < 300) {
+            stats.latency.record(endNanos - intendedNanos);
+            stats.service.record(endNanos - sentNanos);
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    void recordFailure(LoadTarget target, long intendedNanos, long endNanos) {
+        TargetStats stats = targets.get(target);
+        stats.all.record(endNanos - intendedNanos);
+        stats.errors.increment();
+        stats.failures.increment();
+    }
+
+    void recordSent(LoadTarget target) {
+        targets.get(target).sent.increment();
+    }
+
+    void finish(long elapsedNanos, long incomplete) {
+        this.elapsedNanos = elapsedNanos;
+        this.incomplete = incomplete;
+    }
+
+    public double getOfferedRate() {
+        return offeredRate;
+    }
+
+    public long getIncomplete() {
+        return incomplete;
+    }
+
+    public TargetStats get(LoadTarget target) {
+        return targets.get(target);
+    }
+
+    /**
+     * Successful responses per second over the whole step.
+     */
+    public double throughput() {
+        long ok = 0;
+        for (TargetStats stats : targets.values()) ok += stats.latency.getCount();
+        return elapsedNanos == 0 ? 0.0 : ok * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Percentage of answered or failed requests that were not 2xx.
+     */
+    public double errorRate() {
+        long done = 0;
+        long errors = 0;
+        for (TargetStats stats : targets.values()) {
+            done += stats.all.getCount();
+            errors += stats.getErrors();
+        }
+        return done == 0 ? 0.0 : 100.0 * errors / done;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("offeredRate", offeredRate);
+        map.put("throughput", round(throughput()));
+        map.put("errorRate", round(errorRate()));
+        map.put("elapsedMs", elapsedNanos / 1_000_000);
+        map.put("incomplete", incomplete);
+        Map<String, Object> byTarget = new LinkedHashMap<>();
+        targets.forEach((target, stats) -> {
+            if (stats.getSent() > 0) byTarget.put(target.getKey(), stats.toMap());
+        });
+        map.put("targets", byTarget);
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    public static final class TargetStats {
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder failures = new LongAdder();   // no response (I/O error, timeout)
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LatencyStats latency = new LatencyStats();
+        private final LatencyStats service = new LatencyStats();
+        private final LatencyStats all = new LatencyStats();
+
+        public long getSent() {
+            return sent.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * 503 responses: requests shed by admission control.
+         */
+        public long getShed() {
+            LongAdder shed = statuses.get(503);
+            return shed == null ? 0 : shed.sum();
+        }
+
+        /**
+         * Non-2xx responses and failures as a percentage of completed requests.
+         */
+        public double errorRate() {
+            long done = all.getCount();
+            return done == 0 ? 0.0 : 100.0 * getErrors() / done;
+        }
+
+        /**
+         * Percentage of completed requests shed with 503.
+         */
+        public double shedRate() {
+            long done = all.getCount();
+            return done == 0 ? 0.0 : 100.0 * getShed() / done;
+        }
+
+        /**
+         * Corrected latency of successful responses.
+         */
+        public LatencyStats getLatency() {
+            return latency;
+        }
+
+        /**
+         * Send-to-response time of successful responses.
+         */
+        public LatencyStats getService() {
+            return service;
+        }
+
+        /**
+         * Corrected latency of every completed request, whatever its outcome.
+         */
+        public LatencyStats getAll() {
+            return all;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("sent", getSent());
+            map.put("ok", latency.getCount());
+            map.put("errors", getErrors());
+            map.put("errorRate", round(errorRate()));
+            map.put("shed", getShed());
+            map.put("shedRate", round(shedRate()));
+            map.put("noResponse", failures.sum());
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> byStatus.put(String.valueOf(e.getKey()), e.getValue().sum()));
+            map.put("statuses", byStatus);
+            map.put("latencyMs", percentilesMs(latency));
+            map.put("serviceMs", percentilesMs(service));
+            map.put("allOutcomesMs", percentilesMs(all));
+            return map;
+        }
+
+        private static Map<String, Object> percentilesMs(LatencyStats stats) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("p50", millis(stats.percentileNanos(50)));
+            map.put("p90", millis(stats.percentileNanos(90)));
+            map.put("p99", millis(stats.percentileNanos(99)));
+            map.put("p99.9", millis(stats.percentileNanos(99.9)));
+            map.put("max", millis(stats.getMaxNanos()));
+            return map;
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
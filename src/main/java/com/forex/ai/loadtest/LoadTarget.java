@@ -0,0 +1,31 @@
+package com.forex.ai.loadtest;
+
+/**
+ * Endpoints driven by the load test.
+ * Weighted with the loadtest.mix property, e.g. "predict=1,simulate=2,all=1".
+ */
+public enum LoadTarget {
+
+    PREDICT("predict"),     // POST /api/forex/predict
+    SIMULATE("simulate"),   // GET  /api/forex/predict/simulate/{pair}
+    ALL("all");             // GET  /api/forex/predict/all
+
+    private final String key;
+
+    LoadTarget(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static LoadTarget fromKey(String value) {
+        for (LoadTarget target : values()) {
+            if (target.key.equalsIgnoreCase(value) || target.name().equalsIgnoreCase(value)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test target: " + value);
+    }
+}
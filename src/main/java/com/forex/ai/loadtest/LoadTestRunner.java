@@ -0,0 +1,143 @@
+package com.forex.ai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.service.ForexDataService;
+import com.forex.ai.service.InstrumentRegistry;
+import com.forex.ai.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load Test Runner
+ * Drives a running instance over loopback: waits for readiness, warms up, then runs one
+ * open-loop step per configured rate and prints throughput and latency percentiles.
+ * /predict requests carry the synthetic token, so the load is not recorded as live traffic.
+ */
+@RequiredArgsConstructor
+public class LoadTestRunner {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(120);
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final String syntheticToken;
+    private final InstrumentRegistry instrumentRegistry;
+    private final ForexDataService forexDataService;
+    private final ObjectMapper objectMapper;
+    private final PrintStream out;
+
+    public List<LoadResult> run() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.timeout())
+                .build();
+        awaitReady(client);
+
+        List<LoadRequest> requests = requests();
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(client, settings.concurrency(), settings.timeout());
+
+        out.printf("%n=== Load test: %s, %d pairs, concurrency %d, %d s per rate ===%n",
+                baseUri, instrumentRegistry.size(), settings.concurrency(), settings.duration().toSeconds());
+        if (!settings.warmup().isZero()) {
+            out.printf("Warming up for %d s at %.0f req/s...%n", settings.warmup().toSeconds(), settings.rates().get(0));
+            generator.run(requests, settings.rates().get(0), settings.warmup());
+        }
+
+        List<LoadResult> results = new ArrayList<>();
+        for (double rate : settings.rates()) {
+            LoadResult result = generator.run(requests, rate, settings.duration());
+            results.add(result);
+            print(result);
+        }
+
+        if (!settings.output().isEmpty()) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("concurrency", settings.concurrency());
+            report.put("durationSeconds", settings.duration().toSeconds());
+            report.put("pairs", instrumentRegistry.size());
+            report.put("mix", settings.mix());
+            report.put("steps", results.stream().map(LoadResult::toMap).toList());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(settings.output()).toFile(), report);
+            out.println("Report written to " + settings.output());
+        }
+        return results;
+    }
+
+    /**
+     * Requests in mix order, one round per pair; /predict/all ignores the pair.
+     */
+    List<LoadRequest> requests() throws IOException {
+        List<LoadRequest> requests = new ArrayList<>();
+        for (Instrument instrument : instrumentRegistry.all()) {
+            for (Map.Entry<LoadTarget, Integer> entry : settings.mix().entrySet()) {
+                for (int w = 0; w < entry.getValue(); w++) requests.add(request(entry.getKey(), instrument));
+            }
+        }
+        return requests;
+    }
+
+    private LoadRequest request(LoadTarget target, Instrument instrument) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(settings.timeout());
+        switch (target) {
+            case PREDICT -> builder.uri(baseUri.resolve("/api/forex/predict"))
+                    .header("Content-Type", "application/json")
+                    .header(WarmupService.SYNTHETIC_HEADER, syntheticToken)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(forexDataService.generateSimulatedData(instrument))));
+            case SIMULATE -> builder.uri(baseUri.resolve("/api/forex/predict/simulate/" + instrument.getSymbol()));
+            case ALL -> builder.uri(baseUri.resolve("/api/forex/predict/all"));
+        }
+        return new LoadRequest(target, builder.build());
+    }
+
+    private void awaitReady(HttpClient client) throws IOException, InterruptedException {
+        HttpRequest ready = HttpRequest.newBuilder(baseUri.resolve("/api/forex/ready")).build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (client.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Service not ready after " + READY_TIMEOUT);
+            Thread.sleep(200);
+        }
+    }
+
+    /**
+     * Percentiles are of successful responses; the error and shed rates say how many
+     * requests they leave out, and "all p99" includes them.
+     */
+    private void print(LoadResult result) {
+        out.printf("%n--- offered %.0f req/s: throughput %.1f req/s, errors %.1f%%%s ---%n", result.getOfferedRate(),
+                result.throughput(), result.errorRate(),
+                result.getIncomplete() > 0 ? ", " + result.getIncomplete() + " incomplete" : "");
+        out.printf("%-10s %8s %7s %7s %9s %9s %9s %9s %9s %12s %9s%n",
+                "endpoint", "sent", "err %", "503 %", "p50 (ms)", "p90", "p99", "p99.9", "max", "service p99", "all p99");
+        for (LoadTarget target : LoadTarget.values()) {
+            LoadResult.TargetStats stats = result.get(target);
+            if (stats.getSent() == 0) continue;
+            out.printf("%-10s %8d %7.1f %7.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f %9.2f%n",
+                    target.getKey(), stats.getSent(), stats.errorRate(), stats.shedRate(),
+                    ms(stats.getLatency().percentileNanos(50)),
+                    ms(stats.getLatency().percentileNanos(90)),
+                    ms(stats.getLatency().percentileNanos(99)),
+                    ms(stats.getLatency().percentileNanos(99.9)),
+                    ms(stats.getLatency().getMaxNanos()),
+                    ms(stats.getService().percentileNanos(99)),
+                    ms(stats.getAll().percentileNanos(99)));
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.forex.ai.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from loadtest.* properties
+ * (command line {@code --loadtest.rates=100,200}, system properties or application.properties).
+ *
+ * @param rates       offered request rates (req/s), one measured step per rate
+ * @param concurrency maximum requests in flight; arrivals beyond it queue on the client
+ * @param mix         relative weight of each endpoint
+ * @param output      JSON report file, empty for none
+ */
+public record LoadTestSettings(
+        List<Double> rates,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        Duration timeout,
+        Map<LoadTarget, Integer> mix,
+        String output) {
+
+    public static LoadTestSettings from(Environment env) {
+        List<Double> rates = Arrays.stream(env.getProperty("loadtest.rates", "200").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Double::parseDouble)
+                .toList();
+        if (rates.isEmpty() || rates.stream().anyMatch(r -> !(r > 0))) {
+            throw new IllegalArgumentException("loadtest.rates must be positive: " + rates);
+        }
+
+        int concurrency = env.getProperty("loadtest.concurrency", Integer.class, 64);
+        if (concurrency < 1) throw new IllegalArgumentException("loadtest.concurrency must be at least 1");
+
+        return new LoadTestSettings(rates, concurrency,
+                Duration.ofSeconds(env.getProperty("loadtest.duration-seconds", Long.class, 30L)),
+                Duration.ofSeconds(env.getProperty("loadtest.warmup-seconds", Long.class, 10L)),
+                Duration.ofMillis(env.getProperty("loadtest.timeout-ms", Long.class, 10_000L)),
+                parseMix(env.getProperty("loadtest.mix", "predict=1,simulate=1,all=1")),
+                env.getProperty("loadtest.output", ""));
+    }
+
+    /**
+     * "predict=1,simulate=2,all=1"; endpoints left out get weight 0.
+     */
+    static Map<LoadTarget, Integer> parseMix(String value) {
+        Map<LoadTarget, Integer> mix = new EnumMap<>(LoadTarget.class);
+        for (String part : value.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.split("=", 2);
+            int weight = kv.length == 2 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight < 0) throw new IllegalArgumentException("Negative weight in loadtest.mix: " + part);
+            mix.put(LoadTarget.fromKey(kv[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no endpoint with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,99 @@
+package com.forex.ai.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open Loop Load Generator
+ * Sends requests at a fixed arrival rate, whether or not earlier ones have returned.
+ *
+ * Arrival i is scheduled at start + i / rate. A dispatcher thread hands each arrival to a
+ * pool of {@code concurrency} client threads; when they are all busy the arrival waits in
+ * the pool's queue and its latency keeps counting from the scheduled time, which is what
+ * a real caller would see (see {@link LoadResult}).
+ */
+@Slf4j
+public class OpenLoopLoadGenerator {
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration timeout;
+
+    public OpenLoopLoadGenerator(HttpClient client, int concurrency, Duration timeout) {
+        this.client = client;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Offer {@code rate} requests per second for {@code duration}, cycling through
+     * {@code requests}, then wait for the outstanding ones.
+     */
+    public LoadResult run(List<LoadRequest> requests, double rate, Duration duration) throws InterruptedException {
+        if (requests.isEmpty()) throw new IllegalArgumentException("No requests to send");
+        LoadResult result = new LoadResult(rate);
+        LongAdder completed = new LongAdder();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double interval = 1e9 / rate;
+        long sent = 0;
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + (long) (i * interval);
+                if (intended >= end) break;
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+                LoadRequest request = requests.get((int) (i % requests.size()));
+                result.recordSent(request.target());
+                sent++;
+                pool.execute(() -> {
+                    send(request, intended, result);
+                    completed.increment();
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Outstanding requests finish within their timeout; queued ones may take longer under overload
+        long grace = timeout.toMillis() + duration.toMillis();
+        if (!pool.awaitTermination(grace, TimeUnit.MILLISECONDS)) {
+            log.warn("Load test step at {} req/s did not drain in {} ms", rate, grace);
+            pool.shutdownNow();
+        }
+        result.finish(System.nanoTime() - start, sent - completed.sum());
+        return result;
+    }
+
+    private void send(LoadRequest request, long intended, LoadResult result) {
+        long sentAt = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request.request(), HttpResponse.BodyHandlers.discarding());
+            result.recordResponse(request.target(), response.statusCode(), intended, sentAt, System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.recordFailure(request.target(), intended, System.nanoTime());
+        } catch (Exception e) {
+            result.recordFailure(request.target(), intended, System.nanoTime());
+        }
+    }
+}
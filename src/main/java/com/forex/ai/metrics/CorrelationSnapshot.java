@@ -0,0 +1,47 @@
+package com.forex.ai.metrics;
+
+/**
+ * Correlation Snapshot
+ * Return correlations and volatilities of all pairs at one bar close, indexed by
+ * instrument id. Never modified after construction; readers share it without locking.
+ */
+public final class CorrelationSnapshot {
+
+    private final long barOpenTime;
+    private final int observations;
+    private final double[] volatility;
+    private final double[] correlation; // correlation[i * n + j]
+    private final int n;
+
+    CorrelationSnapshot(long barOpenTime, int observations, double[] volatility, double[] correlation) {
+        this.barOpenTime = barOpenTime;
+        this.observations = observations;
+        this.volatility = volatility;
+        this.correlation = correlation;
+        this.n = volatility.length;
+    }
+
+    /** Open time of the last bar in the window. */
+    public long getBarOpenTime() {
+        return barOpenTime;
+    }
+
+    /** Return rows in the window. */
+    public int getObservations() {
+        return observations;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** Standard deviation of the per-bar log returns. */
+    public double volatility(int i) {
+        return volatility[i];
+    }
+
+    /** Correlation of the returns of i and j; 0 when either series is flat. */
+    public double correlation(int i, int j) {
+        return correlation[i * n + j];
+    }
+}
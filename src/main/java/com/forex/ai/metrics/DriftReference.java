@@ -0,0 +1,93 @@
+package com.forex.ai.metrics;
+
+import com.forex.ai.ml.FeatureBins;
+import com.forex.ai.ml.TrainingSet;
+
+/**
+ * Drift Reference
+ * Training-time distribution of every feature: quantile bins with the share of
+ * training rows in each, plus mean, standard deviation and range.
+ */
+public final class DriftReference {
+
+    private final FeatureBins bins;
+    private final double[][] expected;
+    private final double[] mean;
+    private final double[] std;
+    private final double[] min;
+    private final double[] max;
+
+    private DriftReference(FeatureBins bins, double[][] expected,
+                           double[] mean, double[] std, double[] min, double[] max) {
+        this.bins = bins;
+        this.expected = expected;
+        this.mean = mean;
+        this.std = std;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static DriftReference fromTrainingSet(TrainingSet data, int maxBins) {
+        int numFeatures = data.numFeatures();
+        FeatureBins bins = FeatureBins.fit(data.features(), numFeatures, maxBins);
+
+        double[][] expected = new double[numFeatures][];
+        double[] mean = new double[numFeatures];
+        double[] std = new double[numFeatures];
+        double[] min = new double[numFeatures];
+        double[] max = new double[numFeatures];
+        for (int f = 0; f < numFeatures; f++) {
+            expected[f] = new double[bins.numBins(f)];
+            min[f] = Double.POSITIVE_INFINITY;
+            max[f] = Double.NEGATIVE_INFINITY;
+            int n = 0;
+            double sum = 0.0;
+            double squares = 0.0;
+            for (double[] row : data.features()) {
+                double v = row[f];
+                if (!Double.isFinite(v)) continue;
+                expected[f][bins.bin(f, v)]++;
+                n++;
+                sum += v;
+                squares += v * v;
+                min[f] = Math.min(min[f], v);
+                max[f] = Math.max(max[f], v);
+            }
+            for (int b = 0; b < expected[f].length; b++) expected[f][b] /= Math.max(n, 1);
+            mean[f] = n == 0 ? 0.0 : sum / n;
+            std[f] = n == 0 ? 0.0 : Math.sqrt(Math.max(squares / n - mean[f] * mean[f], 0.0));
+        }
+        return new DriftReference(bins, expected, mean, std, min, max);
+    }
+
+    public int numFeatures() {
+        return expected.length;
+    }
+
+    public int numBins(int feature) {
+        return expected[feature].length;
+    }
+
+    public int bin(int feature, double value) {
+        return bins.bin(feature, value);
+    }
+
+    /**
+     * Share of training rows in each bin.
+     */
+    public double[] expected(int feature) {
+        return expected[feature];
+    }
+
+    public double mean(int feature) {
+        return mean[feature];
+    }
+
+    public double std(int feature) {
+        return std[feature];
+    }
+
+    public boolean inRange(int feature, double value) {
+        return value >= min[feature] && value <= max[feature];
+    }
+}
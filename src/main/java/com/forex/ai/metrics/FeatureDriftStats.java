@@ -0,0 +1,186 @@
+package com.forex.ai.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feature Drift Stats
+ * Running statistics of the model inputs of one pair, compared with the training distribution.
+ *
+ * Memory is fixed at construction:
+ * <ul>
+ *   <li>Lifetime per feature: Welford mean/variance, min/max, NaN (non-finite) count and
+ *       values outside the training range.</li>
+ *   <li>Histograms over the reference bins for the current and the previous window of
+ *       {@code windowSize} observations; drift scores use both, so they reflect the last
+ *       {@code windowSize}..{@code 2 * windowSize} inputs rather than all history.</li>
+ * </ul>
+ * Drift scores: PSI = sum((a - e) * ln(a / e)) and KS = max |CDF_a - CDF_e| over the bins.
+ * Thread-safe; {@link #record} is O(features * log(bins)).
+ */
+public final class FeatureDriftStats {
+
+    // Empty bins would make PSI infinite
+    private static final double EPSILON = 1e-4;
+
+    private final DriftReference reference;
+    private final int windowSize;
+
+    private long observations;
+    private final long[] count;
+    private final double[] mean;
+    private final double[] m2;
+    private final double[] min;
+    private final double[] max;
+    private final long[] nanCount;
+    private final long[] outOfRange;
+
+    private long[][] current;
+    private long[][] previous;
+    private int currentSize;
+    private int previousSize;
+
+    public FeatureDriftStats(DriftReference reference, int windowSize) {
+        int n = reference.numFeatures();
+        this.reference = reference;
+        this.windowSize = windowSize;
+        this.count = new long[n];
+        this.mean = new double[n];
+        this.m2 = new double[n];
+        this.min = new double[n];
+        this.max = new double[n];
+        this.nanCount = new long[n];
+        this.outOfRange = new long[n];
+        this.current = new long[n][];
+        this.previous = new long[n][];
+        for (int f = 0; f < n; f++) {
+            current[f] = new long[reference.numBins(f)];
+            previous[f] = new long[reference.numBins(f)];
+            min[f] = Double.POSITIVE_INFINITY;
+            max[f] = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Add one input row.
+     */
+    public synchronized void record(double[] features) {
+        if (currentSize == windowSize) rotate();
+        observations++;
+        currentSize++;
+
+        for (int f = 0; f < features.length; f++) {
+            double v = features[f];
+            if (!Double.isFinite(v)) {
+                nanCount[f]++;
+                continue;
+            }
+            long n = ++count[f];
+            double delta = v - mean[f];
+            mean[f] += delta / n;
+            m2[f] += delta * (v - mean[f]);
+            if (v < min[f]) min[f] = v;
+            if (v > max[f]) max[f] = v;
+            if (!reference.inRange(f, v)) outOfRange[f]++;
+            current[f][reference.bin(f, v)]++;
+        }
+    }
+
+    private void rotate() {
+        long[][] recycled = previous;
+        previous = current;
+        previousSize = currentSize;
+        for (long[] bins : recycled) Arrays.fill(bins, 0L);
+        current = recycled;
+        currentSize = 0;
+    }
+
+    public synchronized long getObservations() {
+        return observations;
+    }
+
+    /**
+     * Population stability index of the feature over the recent windows.
+     */
+    public synchronized double psi(int feature) {
+        return psi(reference.expected(feature), recent(feature));
+    }
+
+    /**
+     * Binned Kolmogorov-Smirnov distance of the feature over the recent windows.
+     */
+    public synchronized double ks(int feature) {
+        return ks(reference.expected(feature), recent(feature));
+    }
+
+    /**
+     * Observations in the recent windows (the sample the drift scores are based on).
+     */
+    public synchronized int getWindowObservations() {
+        return currentSize + previousSize;
+    }
+
+    private long[] recent(int feature) {
+        long[] counts = current[feature].clone();
+        for (int b = 0; b < counts.length; b++) counts[b] += previous[feature][b];
+        return counts;
+    }
+
+    static double psi(double[] expected, long[] observed) {
+        long total = 0;
+        for (long c : observed) total += c;
+        if (total == 0) return 0.0;
+        double psi = 0.0;
+        for (int b = 0; b < expected.length; b++) {
+            double e = Math.max(expected[b], EPSILON);
+            double a = Math.max((double) observed[b] / total, EPSILON);
+            psi += (a - e) * Math.log(a / e);
+        }
+        return psi;
+    }
+
+    static double ks(double[] expected, long[] observed) {
+        long total = 0;
+        for (long c : observed) total += c;
+        if (total == 0) return 0.0;
+        double cdfExpected = 0.0;
+        double cdfObserved = 0.0;
+        double ks = 0.0;
+        for (int b = 0; b < expected.length; b++) {
+            cdfExpected += expected[b];
+            cdfObserved += (double) observed[b] / total;
+            ks = Math.max(ks, Math.abs(cdfObserved - cdfExpected));
+        }
+        return ks;
+    }
+
+    /**
+     * Per-feature statistics and drift scores, in feature order.
+     */
+    public synchronized Map<String, Object> toMap(List<String> featureNames) {
+        Map<String, Object> features = new LinkedHashMap<>();
+        for (int f = 0; f < featureNames.size(); f++) {
+            long n = count[f];
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", n);
+            stats.put("mean", n == 0 ? null : mean[f]);
+            stats.put("std", n == 0 ? null : Math.sqrt(m2[f] / n));
+            stats.put("min", n == 0 ? null : min[f]);
+            stats.put("max", n == 0 ? null : max[f]);
+            stats.put("nanCount", nanCount[f]);
+            stats.put("outOfRange", outOfRange[f]);
+            stats.put("referenceMean", reference.mean(f));
+            stats.put("referenceStd", reference.std(f));
+            stats.put("psi", round(psi(f)));
+            stats.put("ks", round(ks(f)));
+            features.put(featureNames.get(f), stats);
+        }
+        return features;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000.0) / 10000.0;
+    }
+}
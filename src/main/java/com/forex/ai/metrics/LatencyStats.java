@@ -0,0 +1,107 @@
+package com.forex.ai.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency Stats
+ * Lock-free latency recorder with log-linear buckets (8 sub-buckets per power of two,
+ * so percentiles are accurate to about 12%). Fixed memory, safe to record from any thread.
+ */
+public final class LatencyStats {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 61 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucket(nanos));
+        count.increment();
+        sum.add(nanos);
+        long current;
+        while (nanos > (current = max.get()) && !max.compareAndSet(current, nanos)) {
+            // retry
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Approximate percentile (0-100) in nanoseconds.
+     */
+    public long percentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            snapshot[b] = buckets.get(b);
+            total += snapshot[b];
+        }
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += snapshot[b];
+            if (seen >= rank) return Math.min(upperBound(b), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * count, mean, p50, p90, p99, max in microseconds.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", getCount());
+        map.put("meanMicros", round(getMeanNanos() / 1000.0));
+        map.put("p50Micros", round(percentileNanos(50) / 1000.0));
+        map.put("p90Micros", round(percentileNanos(90) / 1000.0));
+        map.put("p99Micros", round(percentileNanos(99) / 1000.0));
+        map.put("maxMicros", round(getMaxNanos() / 1000.0));
+        return map;
+    }
+
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) buckets.set(b, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exponent - 3)) & (SUB_BUCKETS - 1));
+        return (exponent - 2) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + 2;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
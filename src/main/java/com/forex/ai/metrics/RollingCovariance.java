@@ -0,0 +1,124 @@
+package com.forex.ai.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Rolling Covariance
+ * Covariance of {@code n} return series over the last {@code window} rows, kept as running
+ * sums and cross-products: adding a row (and dropping the oldest) is O(n^2), and pairs with a
+ * zero return in a row are skipped. Only the upper triangle is stored, packed row by row into
+ * n(n+1)/2 entries.
+ *
+ * Add/subtract sums drift by rounding, so they are rebuilt from the row buffer once every
+ * {@code window} rows (amortized O(n^2) per row as well).
+ * Not thread-safe.
+ */
+public final class RollingCovariance {
+
+    private final int n;
+    private final int window;
+
+    private final double[][] rows;
+    private int head;
+    private int size;
+    private int sinceRebuild;
+
+    private final double[] sums;
+    private final double[] products; // products[rowStart(i) + j], j >= i
+
+    public RollingCovariance(int n, int window) {
+        if (n <= 0 || window < 2) {
+            throw new IllegalArgumentException("Need at least one series and a window of 2");
+        }
+        this.n = n;
+        this.window = window;
+        this.rows = new double[window][n];
+        this.sums = new double[n];
+        this.products = new double[n * (n + 1) / 2];
+    }
+
+    /**
+     * Add one row of returns (one value per series); the oldest row leaves the window.
+     */
+    public void add(double[] returns) {
+        double[] slot = rows[head];
+        if (size == window) accumulate(slot, -1.0);
+        System.arraycopy(returns, 0, slot, 0, n);
+        accumulate(slot, 1.0);
+
+        head = (head + 1) % window;
+        if (size < window) size++;
+        if (++sinceRebuild >= window) rebuild();
+    }
+
+    private void accumulate(double[] row, double sign) {
+        for (int i = 0; i < n; i++) {
+            double ri = row[i];
+            if (ri == 0.0) continue;
+            double weighted = sign * ri;
+            sums[i] += weighted;
+            int base = rowStart(i);
+            for (int j = i; j < n; j++) {
+                double rj = row[j];
+                if (rj != 0.0) products[base + j] += weighted * rj;
+            }
+        }
+    }
+
+    /**
+     * Offset such that products[rowStart(i) + j] holds row i, column j (j >= i) of the packed triangle.
+     */
+    private int rowStart(int i) {
+        return i * n - i * (i + 1) / 2;
+    }
+
+    /**
+     * Recompute the sums from the buffered rows.
+     */
+    void rebuild() {
+        Arrays.fill(sums, 0.0);
+        Arrays.fill(products, 0.0);
+        for (int r = 0; r < size; r++) accumulate(rows[r], 1.0);
+        sinceRebuild = 0;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** Rows currently in the window. */
+    public int observations() {
+        return size;
+    }
+
+    /**
+     * Sample covariance of series i and j over the window, 0 with fewer than two rows.
+     */
+    public double covariance(int i, int j) {
+        if (size < 2) return 0.0;
+        int a = Math.min(i, j);
+        int b = Math.max(i, j);
+        return (products[rowStart(a) + b] - sums[a] * sums[b] / size) / (size - 1);
+    }
+
+    /**
+     * Immutable correlations and volatilities of the current window.
+     */
+    public CorrelationSnapshot snapshot(long barOpenTime) {
+        double[] volatility = new double[n];
+        for (int i = 0; i < n; i++) volatility[i] = Math.sqrt(Math.max(0.0, covariance(i, i)));
+
+        double[] correlation = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            correlation[i * n + i] = 1.0;
+            for (int j = i + 1; j < n; j++) {
+                double denominator = volatility[i] * volatility[j];
+                double c = denominator > 0 ? covariance(i, j) / denominator : 0.0;
+                c = Math.max(-1.0, Math.min(1.0, c));
+                correlation[i * n + j] = c;
+                correlation[j * n + i] = c;
+            }
+        }
+        return new CorrelationSnapshot(barOpenTime, size, volatility, correlation);
+    }
+}
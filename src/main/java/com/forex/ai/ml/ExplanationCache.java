@@ -0,0 +1,100 @@
+package com.forex.ai.ml;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Explanation Cache
+ * Bounded LRU of SHAP values ({@code [class][feature]}) keyed by model id and quantized input.
+ * Cached arrays are shared: callers must not modify them.
+ *
+ * Inputs are quantized to float precision (~7 significant digits), so requests that
+ * differ only in floating-point noise share an entry. The model id must be unique per
+ * loaded model (not a display version, which can repeat within a second); entries of
+ * an older model are never hit again and age out.
+ */
+public final class ExplanationCache {
+
+    private final int capacity;
+    private final Map<Key, double[][]> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExplanationCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[][]> eldest) {
+                return size() > ExplanationCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Cached values, or compute and store them. Computation runs outside the lock.
+     */
+    public double[][] get(long modelId, double[] features, Supplier<double[][]> compute) {
+        if (capacity <= 0) return compute.get();
+
+        Key key = new Key(modelId, features);
+        synchronized (entries) {
+            double[][] cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        double[][] values = compute.get();
+        synchronized (entries) {
+            entries.put(key, values);
+        }
+        return values;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class Key {
+
+        final long modelId;
+        final int[] bits;
+        final int hash;
+
+        Key(long modelId, double[] features) {
+            this.modelId = modelId;
+            this.bits = new int[features.length];
+            for (int i = 0; i < features.length; i++) {
+                bits[i] = Float.floatToIntBits((float) features[i]);
+            }
+            this.hash = 31 * Long.hashCode(modelId) + Arrays.hashCode(bits);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && hash == other.hash
+                    && modelId == other.modelId
+                    && Arrays.equals(bits, other.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.forex.ai.ml;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Feature Bins
+ * Quantile cut points per feature; a value falls into bin {@code b} when
+ * exactly {@code b} cut points are less than or equal to it.
+ */
+public final class FeatureBins implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Bins are stored in a byte, so at most 256 per feature. */
+    public static final int MAX_BINS = 256;
+
+    private final double[][] cuts;
+
+    private FeatureBins(double[][] cuts) {
+        this.cuts = cuts;
+    }
+
+    /**
+     * Compute cut points from the training matrix.
+     * Features with few distinct values get one bin per value, others get quantile bins.
+     */
+    public static FeatureBins fit(double[][] rows, int numFeatures, int maxBins) {
+        if (maxBins < 2 || maxBins > MAX_BINS) {
+            throw new IllegalArgumentException("maxBins must be between 2 and " + MAX_BINS);
+        }
+        double[][] cuts = new double[numFeatures][];
+        IntStream.range(0, numFeatures).parallel().forEach(f -> {
+            double[] column = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) column[i] = rows[i][f];
+            cuts[f] = fitColumn(column, maxBins);
+        });
+        return new FeatureBins(cuts);
+    }
+
+    private static double[] fitColumn(double[] sorted, int maxBins) {
+        Arrays.sort(sorted);
+        // NaN sorts last; keep only real values
+        int n = sorted.length;
+        while (n > 0 && Double.isNaN(sorted[n - 1])) n--;
+        if (n == 0) return new double[0];
+
+        double[] distinct = new double[n];
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || sorted[i] != distinct[unique - 1]) distinct[unique++] = sorted[i];
+        }
+
+        if (unique <= maxBins) {
+            // One bin per distinct value, cut halfway between neighbours
+            double[] cuts = new double[unique - 1];
+            for (int i = 0; i < cuts.length; i++) {
+                cuts[i] = (distinct[i] + distinct[i + 1]) / 2.0;
+            }
+            return cuts;
+        }
+
+        double[] cuts = new double[maxBins - 1];
+        int count = 0;
+        for (int q = 1; q < maxBins; q++) {
+            double cut = sorted[(int) ((long) q * n / maxBins)];
+            if (count == 0 || cut > cuts[count - 1]) cuts[count++] = cut;
+        }
+        return Arrays.copyOf(cuts, count);
+    }
+
+    /**
+     * Bin index of a value (NaN goes to the last bin, matching FlatTree's NaN-goes-right rule).
+     */
+    public int bin(int feature, double value) {
+        double[] c = cuts[feature];
+        if (Double.isNaN(value)) return c.length;
+        int lo = 0;
+        int hi = c.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c[mid] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Quantize the whole matrix into feature-major byte columns.
+     */
+    public byte[][] binColumns(double[][] rows) {
+        byte[][] columns = new byte[cuts.length][rows.length];
+        IntStream.range(0, cuts.length).parallel().forEach(f -> {
+            byte[] column = columns[f];
+            for (int i = 0; i < rows.length; i++) {
+                column[i] = (byte) bin(f, rows[i][f]);
+            }
+        });
+        return columns;
+    }
+
+    public int numFeatures() {
+        return cuts.length;
+    }
+
+    public int numBins(int feature) {
+        return cuts[feature].length + 1;
+    }
+
+    /**
+     * Raw threshold equivalent to "bin <= splitBin goes left".
+     */
+    public double threshold(int feature, int splitBin) {
+        return cuts[feature][splitBin];
+    }
+}
@@ -0,0 +1,196 @@
+package com.forex.ai.ml;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Flat Tree
+ * A binary decision tree stored in parallel primitive arrays instead of node objects.
+ *
+ * Node 0 is the root. An internal node sends a row left when
+ * {@code x[feature] < threshold} and right otherwise (NaN goes right).
+ * Every node carries {@code outputs} values; only leaf values are used for scoring.
+ */
+public final class FlatTree implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int LEAF = -1;
+
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] cover;
+    private final double[] values;
+    private final int outputs;
+
+    private FlatTree(Builder builder) {
+        int n = builder.size;
+        this.feature = Arrays.copyOf(builder.feature, n);
+        this.threshold = Arrays.copyOf(builder.threshold, n);
+        this.left = Arrays.copyOf(builder.left, n);
+        this.right = Arrays.copyOf(builder.right, n);
+        this.cover = Arrays.copyOf(builder.cover, n);
+        this.values = Arrays.copyOf(builder.values, n * builder.outputs);
+        this.outputs = builder.outputs;
+    }
+
+    /**
+     * Walk from the root to the leaf that the row falls into.
+     */
+    public int findLeaf(double[] x) {
+        int node = 0;
+        while (feature[node] != LEAF) {
+            node = x[feature[node]] < threshold[node] ? left[node] : right[node];
+        }
+        return node;
+    }
+
+    /**
+     * Add the leaf values for the row to {@code out}.
+     */
+    public void addTo(double[] x, double[] out) {
+        int base = findLeaf(x) * outputs;
+        for (int k = 0; k < outputs; k++) {
+            out[k] += values[base + k];
+        }
+    }
+
+    public int size() {
+        return feature.length;
+    }
+
+    public int outputs() {
+        return outputs;
+    }
+
+    public boolean isLeaf(int node) {
+        return feature[node] == LEAF;
+    }
+
+    public int feature(int node) {
+        return feature[node];
+    }
+
+    public double threshold(int node) {
+        return threshold[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    /**
+     * Training weight that reached the node.
+     */
+    public double cover(int node) {
+        return cover[node];
+    }
+
+    public double value(int node, int output) {
+        return values[node * outputs + output];
+    }
+
+    public int depth() {
+        return depth(0);
+    }
+
+    private int depth(int node) {
+        if (isLeaf(node)) return 0;
+        return 1 + Math.max(depth(left[node]), depth(right[node]));
+    }
+
+    public static Builder builder(int outputs) {
+        return new Builder(outputs);
+    }
+
+    /**
+     * Growable builder; nodes are appended and wired by index.
+     */
+    public static final class Builder {
+
+        private final int outputs;
+        private int size;
+        private int[] feature = new int[16];
+        private double[] threshold = new double[16];
+        private int[] left = new int[16];
+        private int[] right = new int[16];
+        private double[] cover = new double[16];
+        private double[] values;
+
+        private Builder(int outputs) {
+            this.outputs = outputs;
+            this.values = new double[16 * outputs];
+        }
+
+        /**
+         * Append a leaf node and return its index.
+         */
+        public int addLeaf(double cover, double... leafValues) {
+            int node = grow();
+            feature[node] = LEAF;
+            left[node] = LEAF;
+            right[node] = LEAF;
+            this.cover[node] = cover;
+            System.arraycopy(leafValues, 0, values, node * outputs, outputs);
+            return node;
+        }
+
+        /**
+         * Turn an existing node into a split; children are wired later with {@link #setChildren}.
+         */
+        public void setSplit(int node, int splitFeature, double splitThreshold) {
+            feature[node] = splitFeature;
+            threshold[node] = splitThreshold;
+        }
+
+        public void setChildren(int node, int leftChild, int rightChild) {
+            left[node] = leftChild;
+            right[node] = rightChild;
+        }
+
+        public void setCover(int node, double nodeCover) {
+            cover[node] = nodeCover;
+        }
+
+        /**
+         * Overwrite an appended node with leaf values.
+         */
+        public void setLeaf(int node, double nodeCover, double... leafValues) {
+            feature[node] = LEAF;
+            left[node] = LEAF;
+            right[node] = LEAF;
+            cover[node] = nodeCover;
+            System.arraycopy(leafValues, 0, values, node * outputs, outputs);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public FlatTree build() {
+            if (size == 0) {
+                throw new IllegalStateException("A tree needs at least one node");
+            }
+            return new FlatTree(this);
+        }
+
+        private int grow() {
+            if (size == feature.length) {
+                int capacity = size * 2;
+                feature = Arrays.copyOf(feature, capacity);
+                threshold = Arrays.copyOf(threshold, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                cover = Arrays.copyOf(cover, capacity);
+                values = Arrays.copyOf(values, capacity * outputs);
+            }
+            return size++;
+        }
+    }
+}
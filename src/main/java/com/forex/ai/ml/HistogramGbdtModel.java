@@ -0,0 +1,76 @@
+package com.forex.ai.ml;
+
+/**
+ * Histogram GBDT Model
+ * Multiclass gradient-boosted trees with a softmax output.
+ * Each tree adds a raw score to one class; probabilities are softmax(base + sum of trees).
+ */
+public class HistogramGbdtModel implements SignalClassifier {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FlatTree[] trees;
+    private final int[] treeClass;
+    private final double[] baseScore;
+
+    public HistogramGbdtModel(FlatTree[] trees, int[] treeClass, double[] baseScore) {
+        this.trees = trees;
+        this.treeClass = treeClass;
+        this.baseScore = baseScore;
+    }
+
+    /**
+     * Raw (pre-softmax) class scores.
+     */
+    public double[] rawScores(double[] features) {
+        double[] raw = baseScore.clone();
+        double[] leaf = new double[1];
+        for (int t = 0; t < trees.length; t++) {
+            leaf[0] = 0.0;
+            trees[t].addTo(features, leaf);
+            raw[treeClass[t]] += leaf[0];
+        }
+        return raw;
+    }
+
+    @Override
+    public double[] distributionForFeatures(double[] features) {
+        return softmax(rawScores(features));
+    }
+
+    @Override
+    public String getName() {
+        return ModelAlgorithm.HISTOGRAM_GBDT.getKey();
+    }
+
+    public FlatTree[] getTrees() {
+        return trees;
+    }
+
+    public int[] getTreeClass() {
+        return treeClass;
+    }
+
+    public double[] getBaseScore() {
+        return baseScore.clone();
+    }
+
+    public int numNodes() {
+        int nodes = 0;
+        for (FlatTree tree : trees) nodes += tree.size();
+        return nodes;
+    }
+
+    static double[] softmax(double[] raw) {
+        double max = raw[0];
+        for (double r : raw) max = Math.max(max, r);
+        double sum = 0.0;
+        double[] probs = new double[raw.length];
+        for (int k = 0; k < raw.length; k++) {
+            probs[k] = Math.exp(raw[k] - max);
+            sum += probs[k];
+        }
+        for (int k = 0; k < raw.length; k++) probs[k] /= sum;
+        return probs;
+    }
+}
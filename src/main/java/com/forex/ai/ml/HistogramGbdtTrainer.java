@@ -0,0 +1,297 @@
+package com.forex.ai.ml;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Histogram GBDT Trainer
+ * Native gradient-boosted trees for the BUY/SELL/HOLD target.
+ *
+ * Features are quantized into at most 255 bins once, then every split search works on
+ * per-node gradient histograms instead of sorted raw values. The smaller child's histogram
+ * is built from its rows and the larger one is derived by subtraction from the parent.
+ * The K class trees of a round are grown in parallel, and histograms of large nodes are
+ * filled in parallel across features.
+ */
+@Slf4j
+@Getter
+@Setter
+public class HistogramGbdtTrainer {
+
+    private int numRounds = 100;
+    private double learningRate = 0.1;
+    private int maxDepth = 6;
+    private int maxBins = 255;
+    private int minSamplesLeaf = 2;
+    private double l2Regularization = 1.0;
+    private double minChildHessian = 1e-3;
+
+    /** Nodes with fewer rows than this build their histogram on the calling thread. */
+    private int parallelRowThreshold = 4096;
+
+    /**
+     * Train a model on the given data.
+     */
+    public HistogramGbdtModel train(TrainingSet data) {
+        int n = data.size();
+        int numFeatures = data.numFeatures();
+        int numClasses = SignalFeatures.NUM_CLASSES;
+        if (n == 0) {
+            throw new IllegalArgumentException("Training set is empty");
+        }
+
+        long start = System.nanoTime();
+        FeatureBins bins = FeatureBins.fit(data.features(), numFeatures, maxBins);
+        byte[][] columns = bins.binColumns(data.features());
+        int[] labels = data.labels();
+
+        // Start from the (smoothed) class priors
+        double[] baseScore = new double[numClasses];
+        for (int label : labels) baseScore[label]++;
+        for (int k = 0; k < numClasses; k++) {
+            baseScore[k] = Math.log((baseScore[k] + 1.0) / (n + numClasses));
+        }
+
+        double[][] scores = new double[numClasses][n];
+        for (int k = 0; k < numClasses; k++) Arrays.fill(scores[k], baseScore[k]);
+        double[][] probs = new double[numClasses][n];
+
+        List<FlatTree> trees = new ArrayList<>(numRounds * numClasses);
+        List<Integer> treeClass = new ArrayList<>(numRounds * numClasses);
+
+        for (int round = 0; round < numRounds; round++) {
+            updateProbabilities(scores, probs);
+
+            FlatTree[] roundTrees = new FlatTree[numClasses];
+            IntStream.range(0, numClasses).parallel().forEach(k ->
+                    roundTrees[k] = new TreeGrower(bins, columns, labels, k, probs[k], scores[k]).grow());
+
+            for (int k = 0; k < numClasses; k++) {
+                trees.add(roundTrees[k]);
+                treeClass.add(k);
+            }
+        }
+
+        log.debug("Histogram GBDT: {} rows, {} trees in {} ms",
+                n, trees.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return new HistogramGbdtModel(
+                trees.toArray(new FlatTree[0]),
+                treeClass.stream().mapToInt(Integer::intValue).toArray(),
+                baseScore);
+    }
+
+    private static void updateProbabilities(double[][] scores, double[][] probs) {
+        int numClasses = scores.length;
+        IntStream.range(0, scores[0].length).parallel().forEach(i -> {
+            double max = scores[0][i];
+            for (int k = 1; k < numClasses; k++) max = Math.max(max, scores[k][i]);
+            double sum = 0.0;
+            for (int k = 0; k < numClasses; k++) {
+                double e = Math.exp(scores[k][i] - max);
+                probs[k][i] = e;
+                sum += e;
+            }
+            for (int k = 0; k < numClasses; k++) probs[k][i] /= sum;
+        });
+    }
+
+    /**
+     * Grows one regression tree on the softmax gradients of one class.
+     */
+    private final class TreeGrower {
+
+        // Histogram slots per bin: gradient sum, hessian sum, row count
+        private static final int SLOT = 3;
+
+        private final FeatureBins bins;
+        private final byte[][] columns;
+        private final double[] score;
+        private final double[] grad;
+        private final double[] hess;
+        private final int[] rows;
+        private final int[] offsets;
+        private final int histogramSize;
+        private final FlatTree.Builder builder = FlatTree.builder(1);
+
+        TreeGrower(FeatureBins bins, byte[][] columns, int[] labels, int k,
+                   double[] prob, double[] score) {
+            this.bins = bins;
+            this.columns = columns;
+            this.score = score;
+
+            int n = labels.length;
+            this.grad = new double[n];
+            this.hess = new double[n];
+            this.rows = new int[n];
+            for (int i = 0; i < n; i++) {
+                double p = prob[i];
+                grad[i] = p - (labels[i] == k ? 1.0 : 0.0);
+                hess[i] = Math.max(p * (1.0 - p), 1e-16);
+                rows[i] = i;
+            }
+
+            this.offsets = new int[bins.numFeatures()];
+            int total = 0;
+            for (int f = 0; f < offsets.length; f++) {
+                offsets[f] = total * SLOT;
+                total += bins.numBins(f);
+            }
+            this.histogramSize = total * SLOT;
+        }
+
+        FlatTree grow() {
+            int n = rows.length;
+            double[] histogram = buildHistogram(0, n);
+            double g = 0.0;
+            double h = 0.0;
+            for (int i = 0; i < n; i++) {
+                g += grad[i];
+                h += hess[i];
+            }
+            int root = builder.addLeaf(n, leafValue(g, h));
+            split(root, 0, n, 0, histogram, g, h);
+            return builder.build();
+        }
+
+        private void split(int node, int start, int end, int depth,
+                           double[] histogram, double g, double h) {
+            int count = end - start;
+            if (histogram == null || depth >= maxDepth || count < 2 * minSamplesLeaf) {
+                finishLeaf(start, end, leafValue(g, h));
+                return;
+            }
+
+            // Best split over all features and bins
+            double parentScore = g * g / (h + l2Regularization);
+            double bestGain = 1e-12;
+            int bestFeature = -1;
+            int bestBin = -1;
+            double bestGl = 0.0;
+            double bestHl = 0.0;
+
+            for (int f = 0; f < offsets.length; f++) {
+                int base = offsets[f];
+                int numBins = bins.numBins(f);
+                double gl = 0.0;
+                double hl = 0.0;
+                int cl = 0;
+                for (int b = 0; b < numBins - 1; b++) {
+                    int idx = base + b * SLOT;
+                    gl += histogram[idx];
+                    hl += histogram[idx + 1];
+                    cl += (int) histogram[idx + 2];
+                    int cr = count - cl;
+                    if (cl < minSamplesLeaf) continue;
+                    if (cr < minSamplesLeaf) break;
+                    double hr = h - hl;
+                    if (hl < minChildHessian || hr < minChildHessian) continue;
+                    double gr = g - gl;
+                    double gain = gl * gl / (hl + l2Regularization)
+                            + gr * gr / (hr + l2Regularization) - parentScore;
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestFeature = f;
+                        bestBin = b;
+                        bestGl = gl;
+                        bestHl = hl;
+                    }
+                }
+            }
+
+            if (bestFeature < 0) {
+                finishLeaf(start, end, leafValue(g, h));
+                return;
+            }
+
+            int mid = partition(start, end, bestFeature, bestBin);
+            double gr = g - bestGl;
+            double hr = h - bestHl;
+
+            builder.setSplit(node, bestFeature, bins.threshold(bestFeature, bestBin));
+            int leftNode = builder.addLeaf(mid - start, leafValue(bestGl, bestHl));
+            int rightNode = builder.addLeaf(end - mid, leafValue(gr, hr));
+            builder.setChildren(node, leftNode, rightNode);
+
+            double[] leftHistogram = null;
+            double[] rightHistogram = null;
+            if (depth + 1 < maxDepth) {
+                // Build the smaller child, derive the larger one from the parent
+                if (mid - start <= end - mid) {
+                    leftHistogram = buildHistogram(start, mid);
+                    rightHistogram = subtract(histogram, leftHistogram);
+                } else {
+                    rightHistogram = buildHistogram(mid, end);
+                    leftHistogram = subtract(histogram, rightHistogram);
+                }
+            }
+
+            split(leftNode, start, mid, depth + 1, leftHistogram, bestGl, bestHl);
+            split(rightNode, mid, end, depth + 1, rightHistogram, gr, hr);
+        }
+
+        private double[] buildHistogram(int start, int end) {
+            double[] histogram = new double[histogramSize];
+            if (end - start >= parallelRowThreshold) {
+                IntStream.range(0, offsets.length).parallel()
+                        .forEach(f -> fillFeature(histogram, f, start, end));
+            } else {
+                for (int f = 0; f < offsets.length; f++) fillFeature(histogram, f, start, end);
+            }
+            return histogram;
+        }
+
+        private void fillFeature(double[] histogram, int f, int start, int end) {
+            byte[] column = columns[f];
+            int base = offsets[f];
+            for (int j = start; j < end; j++) {
+                int row = rows[j];
+                int idx = base + (column[row] & 0xFF) * SLOT;
+                histogram[idx] += grad[row];
+                histogram[idx + 1] += hess[row];
+                histogram[idx + 2] += 1.0;
+            }
+        }
+
+        /**
+         * parent - child, written into the parent's array (the parent no longer needs it).
+         */
+        private double[] subtract(double[] parent, double[] child) {
+            for (int i = 0; i < parent.length; i++) parent[i] -= child[i];
+            return parent;
+        }
+
+        /**
+         * Move rows with bin <= splitBin to the front of the range; returns the first right row.
+         */
+        private int partition(int start, int end, int feature, int splitBin) {
+            byte[] column = columns[feature];
+            int i = start;
+            int j = end - 1;
+            while (i <= j) {
+                if ((column[rows[i]] & 0xFF) <= splitBin) {
+                    i++;
+                } else {
+                    int tmp = rows[i];
+                    rows[i] = rows[j];
+                    rows[j--] = tmp;
+                }
+            }
+            return i;
+        }
+
+        private void finishLeaf(int start, int end, double value) {
+            for (int j = start; j < end; j++) score[rows[j]] += value;
+        }
+
+        private double leafValue(double g, double h) {
+            return -g / (h + l2Regularization) * learningRate;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.forex.ai.ml;
+
+/**
+ * Supported training algorithms.
+ * Selected with the forex.model.algorithm property.
+ */
+public enum ModelAlgorithm {
+
+    RANDOM_FOREST("random-forest"),
+    HISTOGRAM_GBDT("histogram-gbdt");
+
+    private final String key;
+
+    ModelAlgorithm(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Parse a property value such as "random-forest" or "HISTOGRAM_GBDT".
+     */
+    public static ModelAlgorithm fromKey(String value) {
+        for (ModelAlgorithm algorithm : values()) {
+            if (algorithm.key.equalsIgnoreCase(value) || algorithm.name().equalsIgnoreCase(value)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown model algorithm: " + value);
+    }
+}
@@ -0,0 +1,131 @@
+package com.forex.ai.ml;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Quantization Report
+ * How far a quantized model's predictions are from the full-precision model on a set of rows,
+ * and what it costs in size and scoring time.
+ */
+public record QuantizationReport(
+        int rows,
+        double signalAgreement,        // % of rows with the same predicted class
+        double maxProbabilityError,    // max |p_quantized - p_full| over rows and classes
+        double meanProbabilityError,
+        long fullSerializedBytes,
+        long quantizedSerializedBytes,
+        double fullMicrosPerRow,
+        double quantizedMicrosPerRow) {
+
+    private static final int TIMING_ROUNDS = 3;
+
+    // Keeps the timed scoring loops from being optimized away
+    private static volatile double sink;
+
+    /**
+     * Score every row with both models.
+     */
+    public static QuantizationReport compare(SignalClassifier full, SignalClassifier quantized, double[][] rows) {
+        int agree = 0;
+        double maxError = 0.0;
+        double sumError = 0.0;
+        for (double[] row : rows) {
+            double[] expected = full.distributionForFeatures(row);
+            double[] actual = quantized.distributionForFeatures(row);
+            if (SignalFeatures.maxIndex(expected) == SignalFeatures.maxIndex(actual)) agree++;
+            for (int k = 0; k < expected.length; k++) {
+                double error = Math.abs(expected[k] - actual[k]);
+                maxError = Math.max(maxError, error);
+                sumError += error;
+            }
+        }
+        double[] timings = timeBoth(full, quantized, rows);
+        int n = Math.max(1, rows.length);
+        return new QuantizationReport(rows.length,
+                100.0 * agree / n,
+                maxError,
+                sumError / ((double) n * SignalFeatures.NUM_CLASSES),
+                serializedSize(full instanceof WekaForestClassifier weka ? weka.getClassifier() : full),
+                serializedSize(quantized),
+                timings[0],
+                timings[1]);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rows", rows);
+        map.put("signalAgreement", round(signalAgreement, 2));
+        map.put("maxProbabilityError", round(maxProbabilityError, 5));
+        map.put("meanProbabilityError", round(meanProbabilityError, 5));
+        map.put("fullSerializedBytes", fullSerializedBytes);
+        map.put("quantizedSerializedBytes", quantizedSerializedBytes);
+        map.put("compression", round((double) fullSerializedBytes / Math.max(1, quantizedSerializedBytes), 1));
+        map.put("fullMicrosPerRow", round(fullMicrosPerRow, 2));
+        map.put("quantizedMicrosPerRow", round(quantizedMicrosPerRow, 2));
+        return map;
+    }
+
+    /**
+     * Best of a few rounds per model after a warm-up pass over both, alternating which model
+     * goes first, so neither is timed cold or only ever right after the other.
+     */
+    private static double[] timeBoth(SignalClassifier full, SignalClassifier quantized, double[][] rows) {
+        microsPerRow(full, rows);
+        microsPerRow(quantized, rows);
+        double fullMicros = Double.MAX_VALUE;
+        double quantizedMicros = Double.MAX_VALUE;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            if (round % 2 == 0) {
+                fullMicros = Math.min(fullMicros, microsPerRow(full, rows));
+                quantizedMicros = Math.min(quantizedMicros, microsPerRow(quantized, rows));
+            } else {
+                quantizedMicros = Math.min(quantizedMicros, microsPerRow(quantized, rows));
+                fullMicros = Math.min(fullMicros, microsPerRow(full, rows));
+            }
+        }
+        return new double[]{fullMicros, quantizedMicros};
+    }
+
+    private static double microsPerRow(SignalClassifier classifier, double[][] rows) {
+        if (rows.length == 0) return 0.0;
+        double sum = 0.0;
+        long start = System.nanoTime();
+        for (double[] row : rows) sum += classifier.distributionForFeatures(row)[0];
+        long elapsed = System.nanoTime() - start;
+        sink = sum;
+        return elapsed / 1000.0 / rows.length;
+    }
+
+    private static long serializedSize(Object model) {
+        CountingStream counter = new CountingStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(model);
+        } catch (IOException e) {
+            return -1;
+        }
+        return counter.count;
+    }
+
+    private static double round(double value, int digits) {
+        double scale = Math.pow(10, digits);
+        return Math.round(value * scale) / scale;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
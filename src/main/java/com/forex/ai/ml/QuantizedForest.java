@@ -0,0 +1,226 @@
+package com.forex.ai.ml;
+
+/**
+ * Quantized Forest
+ * A random forest packed into a few primitive arrays for low memory and cache-friendly scoring.
+ *
+ * <ul>
+ *   <li>All trees share one node array, each tree in preorder: the left child of a split is
+ *       the next node, so only the right child index is stored.</li>
+ *   <li>Split thresholds are float32, split features one byte.</li>
+ *   <li>Leaf class probabilities are 8-bit and sum to exactly 255 per leaf (largest
+ *       remainder rounding); votes are summed as integers, so the output is the mean of
+ *       {@code bytes / 255} over the trees, like Weka's Bagging.</li>
+ * </ul>
+ * A row only diverges from the full-precision forest when a feature value falls between a
+ * double threshold and its float rounding, and by the leaf rounding (under 1/255 per tree).
+ * Node covers are kept as float32 so the forest can still be explained: {@link #toFlatTrees}
+ * unpacks the trees it scores with, on demand.
+ * Immutable and thread-safe.
+ */
+public final class QuantizedForest implements SignalClassifier {
+
+    private static final long serialVersionUID = 2L;
+
+    private static final byte LEAF = -1;
+    private static final int LEVELS = 255;
+
+    private final int numClasses;
+    private final int[] roots;
+    private final byte[] feature;
+    private final float[] threshold;
+    private final int[] next;          // split: right child; leaf: leaf index
+    private final byte[] leafValues;   // numClasses unsigned bytes per leaf
+    private final float[] cover;       // training weight per node, only used for explanations
+
+    private QuantizedForest(int numClasses, int[] roots, byte[] feature, float[] threshold,
+                            int[] next, byte[] leafValues, float[] cover) {
+        this.numClasses = numClasses;
+        this.roots = roots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.next = next;
+        this.leafValues = leafValues;
+        this.cover = cover;
+    }
+
+    /**
+     * Quantize a Weka RandomForest.
+     */
+    public static QuantizedForest fromWekaForest(WekaForestClassifier forest) {
+        return fromTrees(WekaForestExtractor.extract(forest.getClassifier(), SignalFeatures.NUM_CLASSES),
+                SignalFeatures.NUM_CLASSES);
+    }
+
+    /**
+     * Quantize trees whose leaf values are class probabilities (one output per class).
+     */
+    public static QuantizedForest fromTrees(FlatTree[] trees, int numClasses) {
+        int nodes = 0;
+        int leaves = 0;
+        for (FlatTree tree : trees) {
+            if (tree.outputs() != numClasses) {
+                throw new IllegalArgumentException("Trees must have one output per class");
+            }
+            for (int node = 0; node < tree.size(); node++) {
+                if (tree.isLeaf(node)) {
+                    leaves++;
+                } else if (tree.feature(node) > Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many features for a quantized forest");
+                }
+            }
+            nodes += tree.size();
+        }
+
+        Packer packer = new Packer(numClasses, nodes, leaves);
+        int[] roots = new int[trees.length];
+        for (int t = 0; t < trees.length; t++) {
+            roots[t] = packer.size;
+            packer.copy(trees[t], 0);
+        }
+        return new QuantizedForest(numClasses, roots, packer.feature, packer.threshold, packer.next, packer.leafValues,
+                packer.cover);
+    }
+
+    /**
+     * The trees as this forest scores them: float thresholds and leaf values of
+     * {@code bytes / 255}, with the stored covers, so TreeSHAP on them adds up to this
+     * forest's output rather than the full-precision one. Built on every call.
+     */
+    public FlatTree[] toFlatTrees() {
+        FlatTree[] trees = new FlatTree[roots.length];
+        for (int t = 0; t < roots.length; t++) {
+            FlatTree.Builder builder = FlatTree.builder(numClasses);
+            unpack(builder, roots[t]);
+            trees[t] = builder.build();
+        }
+        return trees;
+    }
+
+    private int unpack(FlatTree.Builder builder, int node) {
+        double[] values = new double[numClasses];
+        if (feature[node] == LEAF) {
+            int base = next[node] * numClasses;
+            for (int k = 0; k < numClasses; k++) values[k] = (double) (leafValues[base + k] & 0xFF) / LEVELS;
+            return builder.addLeaf(cover[node], values);
+        }
+        int copy = builder.addLeaf(cover[node], values);
+        builder.setSplit(copy, feature[node], threshold[node]);
+        int left = unpack(builder, node + 1);
+        int right = unpack(builder, next[node]);
+        builder.setChildren(copy, left, right);
+        return copy;
+    }
+
+    /**
+     * Leaf probabilities as levels summing to exactly {@link #LEVELS}: floor each scaled
+     * value, then hand the remaining levels to the largest remainders.
+     */
+    private static void quantizeLeaf(FlatTree tree, int node, int[] levels) {
+        int n = levels.length;
+        double sum = 0.0;
+        for (int k = 0; k < n; k++) sum += Math.max(0.0, tree.value(node, k));
+
+        double[] scaled = new double[n];
+        int assigned = 0;
+        for (int k = 0; k < n; k++) {
+            scaled[k] = sum > 0 ? Math.max(0.0, tree.value(node, k)) / sum * LEVELS : (double) LEVELS / n;
+            levels[k] = (int) scaled[k];
+            assigned += levels[k];
+        }
+        while (assigned < LEVELS) {
+            int best = 0;
+            for (int k = 1; k < n; k++) {
+                if (scaled[k] - levels[k] > scaled[best] - levels[best]) best = k;
+            }
+            levels[best]++;
+            assigned++;
+        }
+    }
+
+    @Override
+    public double[] distributionForFeatures(double[] features) {
+        int[] votes = new int[numClasses];
+        for (int root : roots) {
+            int node = root;
+            while (feature[node] != LEAF) {
+                node = features[feature[node]] < threshold[node] ? node + 1 : next[node];
+            }
+            int base = next[node] * numClasses;
+            for (int k = 0; k < numClasses; k++) votes[k] += leafValues[base + k] & 0xFF;
+        }
+
+        long total = 0;
+        for (int v : votes) total += v;
+        double[] probs = new double[numClasses];
+        for (int k = 0; k < numClasses; k++) {
+            probs[k] = total > 0 ? (double) votes[k] / total : 1.0 / numClasses;
+        }
+        return probs;
+    }
+
+    @Override
+    public String getName() {
+        return ModelAlgorithm.RANDOM_FOREST.getKey() + "-q8";
+    }
+
+    public int numTrees() {
+        return roots.length;
+    }
+
+    public int numNodes() {
+        return feature.length;
+    }
+
+    /**
+     * Bytes held by the node and leaf arrays.
+     */
+    public long memoryBytes() {
+        return 4L * roots.length + feature.length + 4L * threshold.length + 4L * next.length + leafValues.length
+                + 4L * cover.length;
+    }
+
+    /**
+     * Appends trees in preorder.
+     */
+    private static final class Packer {
+
+        private final int numClasses;
+        private final int[] levels;
+        private final byte[] feature;
+        private final float[] threshold;
+        private final int[] next;
+        private final byte[] leafValues;
+        private final float[] cover;
+        private int size;
+        private int leaves;
+
+        Packer(int numClasses, int nodes, int leafCount) {
+            this.numClasses = numClasses;
+            this.levels = new int[numClasses];
+            this.feature = new byte[nodes];
+            this.threshold = new float[nodes];
+            this.next = new int[nodes];
+            this.leafValues = new byte[leafCount * numClasses];
+            this.cover = new float[nodes];
+        }
+
+        void copy(FlatTree tree, int source) {
+            int node = size++;
+            cover[node] = (float) tree.cover(source);
+            if (tree.isLeaf(source)) {
+                feature[node] = LEAF;
+                next[node] = leaves;
+                quantizeLeaf(tree, source, levels);
+                for (int k = 0; k < numClasses; k++) leafValues[leaves * numClasses + k] = (byte) levels[k];
+                leaves++;
+                return;
+            }
+            feature[node] = (byte) tree.feature(source);
+            threshold[node] = (float) tree.threshold(source);
+            copy(tree, tree.left(source));
+            next[node] = size;
+            copy(tree, tree.right(source));
+        }
+    }
+}
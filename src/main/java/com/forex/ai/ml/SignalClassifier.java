@@ -0,0 +1,21 @@
+package com.forex.ai.ml;
+
+import java.io.Serializable;
+
+/**
+ * Signal Classifier
+ * Common contract for every model that can sit behind WekaModelService.
+ */
+public interface SignalClassifier extends Serializable {
+
+    /**
+     * Class probabilities in BUY, SELL, HOLD order.
+     * The input is the feature vector built by {@link SignalFeatures#toFeatures}.
+     */
+    double[] distributionForFeatures(double[] features);
+
+    /**
+     * Short algorithm name (for logs and API responses).
+     */
+    String getName();
+}
@@ -0,0 +1,70 @@
+package com.forex.ai.ml;
+
+import com.forex.ai.indicator.IndicatorColumns;
+import com.forex.ai.model.ForexData;
+
+import java.util.List;
+
+/**
+ * Signal Features
+ * Feature layout and class labels shared by all classifiers.
+ */
+public final class SignalFeatures {
+
+    public static final List<String> FEATURE_NAMES = List.of(
+            "rsi", "macd", "macd_signal", "ema_fast", "ema_slow",
+            "bb_upper", "bb_lower", "atr", "volume");
+
+    public static final List<String> CLASS_VALUES = List.of("BUY", "SELL", "HOLD");
+
+    public static final int NUM_FEATURES = FEATURE_NAMES.size();
+    public static final int NUM_CLASSES = CLASS_VALUES.size();
+
+    private SignalFeatures() {
+    }
+
+    /**
+     * Convert the input data into a feature vector.
+     */
+    public static double[] toFeatures(ForexData data) {
+        double[] features = new double[NUM_FEATURES];
+        features[0] = data.getRsi();
+        features[1] = data.getMacd();
+        features[2] = data.getMacdSignal();
+        features[3] = data.getEmaFast();
+        features[4] = data.getEmaSlow();
+        features[5] = data.getBbUpper();
+        features[6] = data.getBbLower();
+        features[7] = data.getAtr();
+        features[8] = data.getVolume();
+        return features;
+    }
+
+    /**
+     * Feature rows for every warm bar of a bulk-computed history, oldest first.
+     * Row j belongs to bar {@code IndicatorColumns.firstWarmBar() + j}.
+     */
+    public static double[][] toFeatures(IndicatorColumns columns, double[] volume) {
+        int from = IndicatorColumns.firstWarmBar();
+        double[][] rows = new double[Math.max(0, columns.size() - from)][];
+        for (int j = 0; j < rows.length; j++) {
+            int i = from + j;
+            rows[j] = new double[]{
+                    columns.rsi()[i], columns.macd()[i], columns.macdSignal()[i],
+                    columns.emaFast()[i], columns.emaSlow()[i],
+                    columns.bbUpper()[i], columns.bbLower()[i], columns.atr()[i], volume[i]};
+        }
+        return rows;
+    }
+
+    /**
+     * Index of the most probable class (first one wins on ties, like Weka).
+     */
+    public static int maxIndex(double[] probs) {
+        int best = 0;
+        for (int i = 1; i < probs.length; i++) {
+            if (probs[i] > probs[best]) best = i;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,22 @@
+package com.forex.ai.ml;
+
+/**
+ * Training Set
+ * Row-major feature matrix with class indexes (BUY=0, SELL=1, HOLD=2).
+ */
+public record TrainingSet(double[][] features, int[] labels) {
+
+    public TrainingSet {
+        if (features.length != labels.length) {
+            throw new IllegalArgumentException("features and labels must have the same length");
+        }
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    public int numFeatures() {
+        return features.length == 0 ? 0 : features[0].length;
+    }
+}
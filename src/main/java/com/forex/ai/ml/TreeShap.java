@@ -0,0 +1,179 @@
+package com.forex.ai.ml;
+
+/**
+ * Tree SHAP
+ * Exact path-dependent SHAP values for one {@link FlatTree} in O(leaves * depth^2),
+ * following Lundberg et al., "Consistent Individualized Feature Attribution for Tree
+ * Ensembles" (Algorithm 2).
+ *
+ * "Missing" features are marginalized with the training cover of each branch, so the
+ * attributions plus {@link #expectedValue} add up to the tree's output for the row.
+ * Branches that no training row reached carry no weight and are not visited.
+ *
+ * Instances hold scratch buffers sized for one tree depth; use one per thread.
+ */
+final class TreeShap {
+
+    private final int outputs;
+
+    // Unique-path stack: one segment per recursion level, (depth + 2) elements each at most
+    private final int[] pathFeature;
+    private final double[] pathZero;
+    private final double[] pathOne;
+    private final double[] pathWeight;
+
+    TreeShap(int maxDepth, int outputs) {
+        int levels = maxDepth + 2;
+        int capacity = levels * (levels + 1) / 2;
+        this.outputs = outputs;
+        this.pathFeature = new int[capacity];
+        this.pathZero = new double[capacity];
+        this.pathOne = new double[capacity];
+        this.pathWeight = new double[capacity];
+    }
+
+    /**
+     * Add {@code scale} times the SHAP values of the row to {@code phi},
+     * laid out as {@code phi[feature * outputs + output]}.
+     */
+    void accumulate(FlatTree tree, double[] x, double scale, double[] phi) {
+        recurse(tree, x, scale, phi, 0, 0, 0, 0, 1.0, 1.0, -1);
+    }
+
+    /**
+     * Cover-weighted mean output of the tree, per output.
+     */
+    static double[] expectedValue(FlatTree tree) {
+        double[] out = new double[tree.outputs()];
+        addExpected(tree, 0, 1.0, out);
+        return out;
+    }
+
+    private static void addExpected(FlatTree tree, int node, double weight, double[] out) {
+        if (tree.isLeaf(node)) {
+            for (int k = 0; k < out.length; k++) out[k] += weight * tree.value(node, k);
+            return;
+        }
+        double cover = tree.cover(node);
+        int left = tree.left(node);
+        int right = tree.right(node);
+        if (cover <= 0) {
+            // Unreachable during training: split evenly so the value is still defined
+            addExpected(tree, left, weight * 0.5, out);
+            addExpected(tree, right, weight * 0.5, out);
+            return;
+        }
+        if (tree.cover(left) > 0) addExpected(tree, left, weight * tree.cover(left) / cover, out);
+        if (tree.cover(right) > 0) addExpected(tree, right, weight * tree.cover(right) / cover, out);
+    }
+
+    private void recurse(FlatTree tree, double[] x, double scale, double[] phi,
+                         int node, int parentStart, int depth,
+                         int start, double zeroFraction, double oneFraction, int feature) {
+
+        // Copy the parent's path into this level's segment and extend it
+        if (depth > 0) {
+            System.arraycopy(pathFeature, parentStart, pathFeature, start, depth);
+            System.arraycopy(pathZero, parentStart, pathZero, start, depth);
+            System.arraycopy(pathOne, parentStart, pathOne, start, depth);
+            System.arraycopy(pathWeight, parentStart, pathWeight, start, depth);
+        }
+        extend(start, depth, zeroFraction, oneFraction, feature);
+
+        if (tree.isLeaf(node)) {
+            for (int i = 1; i <= depth; i++) {
+                double w = unwoundSum(start, depth, i)
+                        * (pathOne[start + i] - pathZero[start + i]) * scale;
+                int offset = pathFeature[start + i] * outputs;
+                for (int k = 0; k < outputs; k++) {
+                    phi[offset + k] += w * tree.value(node, k);
+                }
+            }
+            return;
+        }
+
+        int split = tree.feature(node);
+        int hot = x[split] < tree.threshold(node) ? tree.left(node) : tree.right(node);
+        int cold = hot == tree.left(node) ? tree.right(node) : tree.left(node);
+        double cover = tree.cover(node);
+        double hotFraction = cover > 0 ? tree.cover(hot) / cover : 0.5;
+        double coldFraction = cover > 0 ? tree.cover(cold) / cover : 0.5;
+
+        // A feature appears once per path: undo an earlier split on it and redo it here
+        double incomingZero = 1.0;
+        double incomingOne = 1.0;
+        int uniqueDepth = depth;
+        for (int i = 1; i <= depth; i++) {
+            if (pathFeature[start + i] == split) {
+                incomingZero = pathZero[start + i];
+                incomingOne = pathOne[start + i];
+                unwind(start, depth, i);
+                uniqueDepth--;
+                break;
+            }
+        }
+
+        int childStart = start + depth + 1;
+        recurse(tree, x, scale, phi, hot, start, uniqueDepth + 1,
+                childStart, hotFraction * incomingZero, incomingOne, split);
+
+        // The cold branch only contributes through rows that reached it in training
+        double coldZero = coldFraction * incomingZero;
+        if (coldZero > 0) {
+            recurse(tree, x, scale, phi, cold, start, uniqueDepth + 1,
+                    childStart, coldZero, 0.0, split);
+        }
+    }
+
+    private void extend(int start, int depth, double zeroFraction, double oneFraction, int feature) {
+        pathFeature[start + depth] = feature;
+        pathZero[start + depth] = zeroFraction;
+        pathOne[start + depth] = oneFraction;
+        pathWeight[start + depth] = depth == 0 ? 1.0 : 0.0;
+        for (int i = depth - 1; i >= 0; i--) {
+            pathWeight[start + i + 1] += oneFraction * pathWeight[start + i] * (i + 1) / (depth + 1);
+            pathWeight[start + i] = zeroFraction * pathWeight[start + i] * (depth - i) / (depth + 1);
+        }
+    }
+
+    private void unwind(int start, int depth, int index) {
+        double one = pathOne[start + index];
+        double zero = pathZero[start + index];
+        double next = pathWeight[start + depth];
+
+        for (int i = depth - 1; i >= 0; i--) {
+            if (one != 0) {
+                double tmp = pathWeight[start + i];
+                pathWeight[start + i] = next * (depth + 1) / ((i + 1) * one);
+                next = tmp - pathWeight[start + i] * zero * (depth - i) / (depth + 1);
+            } else {
+                pathWeight[start + i] = pathWeight[start + i] * (depth + 1) / (zero * (depth - i));
+            }
+        }
+        for (int i = index; i < depth; i++) {
+            pathFeature[start + i] = pathFeature[start + i + 1];
+            pathZero[start + i] = pathZero[start + i + 1];
+            pathOne[start + i] = pathOne[start + i + 1];
+        }
+    }
+
+    private double unwoundSum(int start, int depth, int index) {
+        double one = pathOne[start + index];
+        double zero = pathZero[start + index];
+        double next = pathWeight[start + depth];
+        double total = 0.0;
+
+        if (one != 0) {
+            for (int i = depth - 1; i >= 0; i--) {
+                double tmp = next / ((i + 1) * one);
+                total += tmp;
+                next = pathWeight[start + i] - tmp * zero * (depth - i);
+            }
+        } else {
+            for (int i = depth - 1; i >= 0; i--) {
+                total += pathWeight[start + i] / (zero * (depth - i));
+            }
+        }
+        return total * (depth + 1);
+    }
+}
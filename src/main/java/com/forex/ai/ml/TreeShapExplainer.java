@@ -0,0 +1,116 @@
+package com.forex.ai.ml;
+
+import java.util.Arrays;
+
+/**
+ * Tree SHAP Explainer
+ * Per-class feature attributions for tree ensembles.
+ *
+ * <ul>
+ *   <li>RandomForest: trees are extracted from Weka; attributions are in probability space
+ *       (the forest output is the mean of the per-tree class distributions). A quantized
+ *       forest is explained on its own float-threshold, 8-bit-leaf trees.</li>
+ *   <li>Histogram GBDT: attributions are in raw score (log-odds) space, before the softmax.</li>
+ * </ul>
+ * For every class, base value + sum of attributions = model output for the row.
+ * Thread-safe; scratch buffers are per thread.
+ */
+public final class TreeShapExplainer {
+
+    public static final String PROBABILITY = "probability";
+    public static final String RAW_SCORE = "raw-score";
+
+    private final FlatTree[] trees;
+    private final int[] treeClass; // class of a single-output tree, -1 = one output per class
+    private final double scale;
+    private final double[] baseValue;
+    private final String space;
+    private final ThreadLocal<TreeShap> scratch;
+
+    private TreeShapExplainer(FlatTree[] trees, int[] treeClass, double scale, double[] offset, String space) {
+        this.trees = trees;
+        this.treeClass = treeClass;
+        this.scale = scale;
+        this.space = space;
+
+        int maxDepth = 0;
+        double[] base = offset.clone();
+        for (int t = 0; t < trees.length; t++) {
+            maxDepth = Math.max(maxDepth, trees[t].depth());
+            double[] expected = TreeShap.expectedValue(trees[t]);
+            if (treeClass[t] < 0) {
+                for (int k = 0; k < base.length; k++) base[k] += scale * expected[k];
+            } else {
+                base[treeClass[t]] += scale * expected[0];
+            }
+        }
+        this.baseValue = base;
+
+        int depth = maxDepth;
+        int outputs = trees.length == 0 ? 1 : trees[0].outputs();
+        this.scratch = ThreadLocal.withInitial(() -> new TreeShap(depth, outputs));
+    }
+
+    /**
+     * Explainer for the classifier, or null if it is not a supported tree ensemble.
+     */
+    public static TreeShapExplainer forClassifier(SignalClassifier classifier) {
+        if (classifier instanceof HistogramGbdtModel gbdt) {
+            return new TreeShapExplainer(gbdt.getTrees(), gbdt.getTreeClass(), 1.0, gbdt.getBaseScore(), RAW_SCORE);
+        }
+        if (classifier instanceof WekaForestClassifier weka) {
+            return forForest(WekaForestExtractor.extract(weka.getClassifier(), SignalFeatures.NUM_CLASSES));
+        }
+        if (classifier instanceof QuantizedForest quantized) {
+            // Explained on its own trees, so attributions add up to what it serves
+            return forForest(quantized.toFlatTrees());
+        }
+        return null;
+    }
+
+    private static TreeShapExplainer forForest(FlatTree[] trees) {
+        int[] allClasses = new int[trees.length];
+        Arrays.fill(allClasses, -1);
+        return new TreeShapExplainer(trees, allClasses, 1.0 / trees.length,
+                new double[SignalFeatures.NUM_CLASSES], PROBABILITY);
+    }
+
+    /**
+     * SHAP values as {@code [class][feature]}.
+     */
+    public double[][] shapValues(double[] features) {
+        int numClasses = baseValue.length;
+        int numFeatures = features.length;
+        TreeShap shap = scratch.get();
+
+        // Multi-output trees: phi[feature * classes + class]; single-output trees: one phi per class
+        double[] shared = new double[numFeatures * numClasses];
+        double[][] perClass = new double[numClasses][numFeatures];
+        for (int t = 0; t < trees.length; t++) {
+            if (treeClass[t] < 0) {
+                shap.accumulate(trees[t], features, scale, shared);
+            } else {
+                shap.accumulate(trees[t], features, scale, perClass[treeClass[t]]);
+            }
+        }
+
+        for (int f = 0; f < numFeatures; f++) {
+            for (int k = 0; k < numClasses; k++) perClass[k][f] += shared[f * numClasses + k];
+        }
+        return perClass;
+    }
+
+    /**
+     * Expected model output per class (what the attributions are relative to).
+     */
+    public double[] getBaseValue() {
+        return baseValue.clone();
+    }
+
+    /**
+     * {@link #PROBABILITY} or {@link #RAW_SCORE}.
+     */
+    public String getSpace() {
+        return space;
+    }
+}
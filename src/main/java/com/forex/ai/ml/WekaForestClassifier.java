@@ -0,0 +1,48 @@
+package com.forex.ai.ml;
+
+import weka.classifiers.Classifier;
+import weka.core.DenseInstance;
+import weka.core.Instance;
+import weka.core.Instances;
+import weka.core.Utils;
+
+/**
+ * Weka Forest Classifier
+ * Adapts a trained Weka classifier (RandomForest) to {@link SignalClassifier}.
+ */
+public class WekaForestClassifier implements SignalClassifier {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Classifier classifier;
+    private final Instances header;
+
+    public WekaForestClassifier(Classifier classifier, Instances header) {
+        this.classifier = classifier;
+        this.header = new Instances(header, 0);
+    }
+
+    public Classifier getClassifier() {
+        return classifier;
+    }
+
+    @Override
+    public double[] distributionForFeatures(double[] features) {
+        double[] vals = new double[features.length + 1];
+        System.arraycopy(features, 0, vals, 0, features.length);
+        vals[features.length] = Utils.missingValue(); // signal is unknown
+
+        Instance instance = new DenseInstance(1.0, vals);
+        instance.setDataset(header);
+        try {
+            return classifier.distributionForInstance(instance);
+        } catch (Exception e) {
+            throw new IllegalStateException("Weka prediction failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return ModelAlgorithm.RANDOM_FOREST.getKey();
+    }
+}
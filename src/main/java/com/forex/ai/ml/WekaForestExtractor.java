@@ -0,0 +1,115 @@
+package com.forex.ai.ml;
+
+import weka.classifiers.Classifier;
+import weka.classifiers.meta.Bagging;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Utils;
+
+import java.lang.reflect.Field;
+
+/**
+ * Weka Forest Extractor
+ * Copies the trees of a trained Weka RandomForest into {@link FlatTree}s so they can be
+ * walked without Weka (e.g. for TreeSHAP).
+ *
+ * Weka does not expose the tree structure, so the protected fields are read by reflection.
+ * Each flat tree has one output per class: the normalized class distribution of the leaf,
+ * exactly what {@code RandomTree.distributionForInstance} returns. A leaf that saw no
+ * training rows falls back to its parent's distribution, as Weka does. Cover is the
+ * training weight that reached the node.
+ *
+ * Missing values are not reproduced: Weka splits them fractionally, FlatTree sends NaN right.
+ */
+public final class WekaForestExtractor {
+
+    private static final Field CLASSIFIERS = field(weka.classifiers.IteratedSingleClassifierEnhancer.class, "m_Classifiers");
+    private static final Field TREE = field(RandomTree.class, "m_Tree");
+    private static final Field ZERO_R = field(RandomTree.class, "m_zeroR");
+    private static final Class<?> NODE_CLASS = nodeClass();
+    private static final Field SUCCESSORS = field(NODE_CLASS, "m_Successors");
+    private static final Field ATTRIBUTE = field(NODE_CLASS, "m_Attribute");
+    private static final Field SPLIT_POINT = field(NODE_CLASS, "m_SplitPoint");
+    private static final Field CLASS_DISTRIBUTION = field(NODE_CLASS, "m_ClassDistribution");
+
+    private WekaForestExtractor() {
+    }
+
+    /**
+     * Flat copies of every tree in the forest, or an exception if the model is not a
+     * bagged ensemble of numeric-split RandomTrees.
+     */
+    public static FlatTree[] extract(Classifier forest, int numClasses) {
+        if (!(forest instanceof Bagging)) {
+            throw new IllegalArgumentException("Not a bagged forest: " + forest.getClass().getName());
+        }
+        try {
+            Classifier[] members = (Classifier[]) CLASSIFIERS.get(forest);
+            FlatTree[] trees = new FlatTree[members.length];
+            for (int i = 0; i < members.length; i++) {
+                if (!(members[i] instanceof RandomTree tree) || ZERO_R.get(tree) != null) {
+                    throw new IllegalArgumentException("Unsupported forest member: " + members[i].getClass().getName());
+                }
+                FlatTree.Builder builder = FlatTree.builder(numClasses);
+                double[] none = new double[numClasses];
+                copy(TREE.get(tree), builder, builder.addLeaf(0.0, none), none);
+                trees[i] = builder.build();
+            }
+            return trees;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Weka tree structure is not accessible", e);
+        }
+    }
+
+    /**
+     * Copy {@code source} into the already appended {@code node}. Returns the node's cover.
+     */
+    private static double copy(Object source, FlatTree.Builder builder, int node, double[] parentDistribution)
+            throws IllegalAccessException {
+
+        // Internal nodes only keep their counts when a child is empty
+        double[] counts = (double[]) CLASS_DISTRIBUTION.get(source);
+        double[] distribution = parentDistribution;
+        if (counts != null) {
+            distribution = counts.clone();
+            if (Utils.sum(distribution) > 0) Utils.normalize(distribution);
+        }
+
+        int attribute = ATTRIBUTE.getInt(source);
+        if (attribute < 0) {
+            double cover = counts == null ? 0.0 : Utils.sum(counts);
+            builder.setLeaf(node, cover, distribution);
+            return cover;
+        }
+
+        Object[] successors = (Object[]) SUCCESSORS.get(source);
+        if (successors.length != 2) {
+            throw new IllegalArgumentException("Nominal splits are not supported");
+        }
+        builder.setSplit(node, attribute, SPLIT_POINT.getDouble(source));
+        int left = builder.addLeaf(0.0, distribution);
+        int right = builder.addLeaf(0.0, distribution);
+        builder.setChildren(node, left, right);
+
+        double cover = copy(successors[0], builder, left, distribution)
+                + copy(successors[1], builder, right, distribution);
+        builder.setCover(node, cover);
+        return cover;
+    }
+
+    private static Class<?> nodeClass() {
+        for (Class<?> inner : RandomTree.class.getDeclaredClasses()) {
+            if (inner.getSimpleName().equals("Tree")) return inner;
+        }
+        throw new IllegalStateException("RandomTree.Tree not found");
+    }
+
+    private static Field field(Class<?> owner, String name) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Unsupported Weka version, missing " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OHLCV bar of one timeframe
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Bar {
+
+    private String pair;
+    private Timeframe timeframe;
+
+    // Epoch milliseconds of the bar start
+    private long openTime;
+
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+}
@@ -0,0 +1,7 @@
+package com.forex.ai.model;
+
+/**
+ * Prediction made at the close of a bar.
+ */
+public record BarPrediction(Bar bar, PredictionResult result) {
+}
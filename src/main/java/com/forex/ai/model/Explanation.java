@@ -0,0 +1,31 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Feature attributions (TreeSHAP) for the predicted signal
+ * baseValue + sum of contributions = the model's score for the signal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Explanation {
+
+    // Signal the contributions explain
+    private String signal;
+
+    // "probability" (percentage points) or "raw-score" (log-odds)
+    private String space;
+
+    // Average score over the training data
+    private double baseValue;
+
+    // Feature -> contribution, largest magnitude first
+    private Map<String, Double> contributions;
+}
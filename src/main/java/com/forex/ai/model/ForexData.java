@@ -35,6 +35,9 @@ public class ForexData {
     // Currency pair
     private String pair;         // E.g., EURUSD, GBPUSD
 
+    // Bar timeframe the indicators were computed on (null = unspecified)
+    private Timeframe timeframe;
+
     // Time
     private String timestamp;
 }
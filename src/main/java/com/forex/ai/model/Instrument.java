@@ -0,0 +1,40 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tradable Instrument
+ * Loaded from forex.instruments; the id is the dense index assigned by the registry.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Instrument {
+
+    // Dense id (0..n-1), used to index per-pair state
+    private int id;
+
+    // EURUSD, GBPUSD, ...
+    private String symbol;
+
+    // 0.0001 for most pairs, 0.01 for JPY pairs
+    private double pipSize;
+
+    // Reference price for simulated data
+    private double basePrice;
+
+    // Price decimals
+    @Builder.Default
+    private int precision = 5;
+
+    /**
+     * Currency prices are quoted in: the last three letters of a six-letter symbol (JPY for USDJPY).
+     */
+    public String getQuoteCurrency() {
+        return symbol != null && symbol.length() == 6 ? symbol.substring(3) : symbol;
+    }
+}
@@ -0,0 +1,37 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One prediction as stored in the prediction journal
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalRecord {
+
+    // Assigned by the journal writer
+    private long sequence;
+
+    // Epoch milliseconds of the prediction
+    private long timestamp;
+
+    private String pair;
+    private Timeframe timeframe;
+    private String modelVersion;
+
+    // Model input, in SignalFeatures.FEATURE_NAMES order
+    private double[] features;
+
+    // Model output
+    private String signal;
+    private double buyProbability;
+    private double sellProbability;
+    private double holdProbability;
+    private double confidence;
+    private boolean shouldTrade;
+}
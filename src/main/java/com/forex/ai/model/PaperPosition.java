@@ -0,0 +1,24 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Open simulated position
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperPosition {
+
+    private String side;          // LONG, SHORT
+    private double units;
+    private double entryPrice;
+    private double stopLoss;      // entry -/+ ATR * multiplier
+    private double takeProfit;
+    private double unrealizedPnl;
+    private String openedAt;
+}
@@ -0,0 +1,37 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paper trading state of one currency pair
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperTradingSnapshot {
+
+    private String pair;
+
+    // Currency of the PnL and exposure below (JPY for USDJPY)
+    private String quoteCurrency;
+
+    // Current position (null when flat)
+    private PaperPosition position;
+
+    // PnL in quote currency
+    private double realizedPnl;
+    private double unrealizedPnl;
+
+    // Notional of the open position (units * last price)
+    private double exposure;
+
+    // Statistics
+    private int closedTrades;
+    private int winningTrades;
+    private double lastPrice;
+    private String updatedAt;
+}
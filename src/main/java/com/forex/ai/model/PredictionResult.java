@@ -1,5 +1,6 @@
 package com.forex.ai.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,8 +32,13 @@ public class PredictionResult {
     // Additional information
     private String reason;
     private String pair;
+    private Timeframe timeframe;
     private String timestamp;
 
     // Risk level
     private String riskLevel; // LOW, MEDIUM, HIGH
+
+    // Feature attributions, only when requested (?explain=true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Explanation explanation;
 }
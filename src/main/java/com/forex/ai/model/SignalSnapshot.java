@@ -0,0 +1,88 @@
+package com.forex.ai.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latest bar-close signal of every configured pair.
+ * Each pair's signal keeps the time it was published, so a pair whose feed has stopped
+ * ages on its own while other pairs keep ticking.
+ * Never modified after construction; readers share it without locking.
+ */
+@Getter
+public final class SignalSnapshot {
+
+    // Open time of the newest bar whose close produced a signal
+    private final long barOpenTime;
+
+    // Publication time of the least recently updated pair (epoch millis, 0 without signals)
+    private final long oldestPublishedAt;
+
+    // One item per instrument in id order, pairs without a signal are left out
+    private final List<Map<String, Object>> signals;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object>[] byId;
+
+    // Wall-clock time each pair's signal was published (epoch millis), by instrument id
+    @Getter(AccessLevel.NONE)
+    private final long[] publishedAt;
+
+    public SignalSnapshot(long barOpenTime, Map<String, Object>[] byId, long[] publishedAt) {
+        this.barOpenTime = barOpenTime;
+        this.byId = byId.clone();
+        this.publishedAt = publishedAt.clone();
+
+        List<Map<String, Object>> present = new ArrayList<>(byId.length);
+        long oldest = Long.MAX_VALUE;
+        for (int id = 0; id < this.byId.length; id++) {
+            if (this.byId[id] == null) continue;
+            present.add(this.byId[id]);
+            oldest = Math.min(oldest, this.publishedAt[id]);
+        }
+        this.signals = Collections.unmodifiableList(present);
+        this.oldestPublishedAt = present.isEmpty() ? 0 : oldest;
+    }
+
+    /**
+     * Signal of the instrument, or null if it has none in this snapshot.
+     */
+    public Map<String, Object> get(Instrument instrument) {
+        int id = instrument.getId();
+        return id < byId.length ? byId[id] : null;
+    }
+
+    /**
+     * When the instrument's signal was published, or 0 if it has none.
+     */
+    public long publishedAt(Instrument instrument) {
+        return get(instrument) == null ? 0 : publishedAt[instrument.getId()];
+    }
+
+    /**
+     * Copy with the signal of one instrument replaced.
+     */
+    public SignalSnapshot with(Instrument instrument, Map<String, Object> signal, long barOpenTime, long publishedAt) {
+        Map<String, Object>[] next = byId.clone();
+        long[] nextPublishedAt = this.publishedAt.clone();
+        next[instrument.getId()] = signal;
+        nextPublishedAt[instrument.getId()] = publishedAt;
+        return new SignalSnapshot(Math.max(this.barOpenTime, barOpenTime), next, nextPublishedAt);
+    }
+
+    /**
+     * Age of the least recently updated pair.
+     */
+    public long ageMillis(long now) {
+        return Math.max(0, now - oldestPublishedAt);
+    }
+
+    public long ageMillis(Instrument instrument, long now) {
+        return Math.max(0, now - publishedAt(instrument));
+    }
+}
@@ -0,0 +1,23 @@
+package com.forex.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Price tick from the feed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tick {
+
+    private String pair;
+    private double price;
+    private double volume;
+
+    // Epoch milliseconds (0 = now)
+    private long timestamp;
+}
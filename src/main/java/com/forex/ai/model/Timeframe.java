@@ -0,0 +1,54 @@
+package com.forex.ai.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Bar timeframes (UTC-aligned buckets)
+ * Serialized as the key used in API paths ("5m"), so responses match the URLs.
+ */
+public enum Timeframe {
+
+    M1("1m", 60_000L),
+    M5("5m", 5 * 60_000L),
+    M15("15m", 15 * 60_000L),
+    H1("1h", 60 * 60_000L),
+    H4("4h", 4 * 60 * 60_000L);
+
+    private final String key;
+    private final long millis;
+
+    Timeframe(String key, long millis) {
+        this.key = key;
+        this.millis = millis;
+    }
+
+    @JsonValue
+    public String getKey() {
+        return key;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Start of the bar that contains the given epoch millisecond.
+     */
+    public long barOpenTime(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, millis);
+    }
+
+    /**
+     * Parse "5m", "1h" or the enum name ("M5", "H1").
+     */
+    @JsonCreator
+    public static Timeframe fromKey(String value) {
+        for (Timeframe timeframe : values()) {
+            if (timeframe.key.equalsIgnoreCase(value) || timeframe.name().equalsIgnoreCase(value)) {
+                return timeframe;
+            }
+        }
+        throw new IllegalArgumentException("Unknown timeframe: " + value);
+    }
+}
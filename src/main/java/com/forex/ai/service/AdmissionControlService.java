@@ -0,0 +1,121 @@
+package com.forex.ai.service;
+
+import com.forex.ai.concurrent.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admission Control Service
+ * Caps the number of predictions computed at once. Excess work waits briefly in a
+ * bounded queue; beyond that it is shed with {@link OverloadedException} (HTTP 503)
+ * instead of piling up on the Tomcat thread pool. Callers that share a coalesced
+ * computation wait for it at most {@code max-shared-wait-ms}, then are shed too.
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+
+    @Value("${forex.admission.enabled:true}")
+    private boolean enabled = true;
+
+    // 0 = two per available processor
+    @Value("${forex.admission.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${forex.admission.max-queue:64}")
+    private int maxQueue = 64;
+
+    @Value("${forex.admission.max-wait-ms:50}")
+    private long maxWaitMs = 50;
+
+    // How long a coalesced caller waits for the in-flight result it shares
+    @Value("${forex.admission.max-shared-wait-ms:1000}")
+    private long maxSharedWaitMs = 1000;
+
+    private Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        if (maxConcurrent <= 0) {
+            maxConcurrent = Runtime.getRuntime().availableProcessors() * 2;
+        }
+        permits = new Semaphore(maxConcurrent);
+        log.info("🚧 Admission control: {} concurrent, queue {}, wait {} ms",
+                maxConcurrent, maxQueue, maxWaitMs);
+    }
+
+    /**
+     * Run the work under a permit, or throw {@link OverloadedException}.
+     */
+    public <T> T call(Supplier<T> work) {
+        if (!enabled) return work.get();
+
+        if (!permits.tryAcquire()) {
+            acquireQueued();
+        }
+        admitted.increment();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Run the work under a permit, shared with concurrent calls for the same key.
+     * Only the caller that computes takes a permit; the others wait a bounded time.
+     */
+    public <K, V> V coalesce(SingleFlight<K, V> flights, K key, Supplier<V> work) {
+        return flights.execute(key, () -> call(work), Duration.ofMillis(maxSharedWaitMs),
+                () -> shed("timed out waiting for a shared result"));
+    }
+
+    private void acquireQueued() {
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            throw shed("queue full");
+        }
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) throw shed("timed out waiting for capacity");
+        queued.increment();
+    }
+
+    private OverloadedException shed(String reason) {
+        shed.increment();
+        return new OverloadedException("Server is overloaded (" + reason + "), retry shortly");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("running", maxConcurrent - permits.availablePermits());
+        stats.put("waiting", waiting.get());
+        stats.put("admitted", admitted.sum());
+        stats.put("queued", queued.sum());
+        stats.put("shed", shed.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,151 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.Tick;
+import com.forex.ai.model.Timeframe;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bar Aggregation Service
+ * Folds the tick stream into 1m/5m/15m/1h/4h bars incrementally.
+ * Every timeframe is updated from the tick itself, so higher timeframes never
+ * have to be rebuilt from raw ticks. Closed bars are published as {@link BarCloseEvent}s.
+ * A tick for a 1m bar that has already closed is dropped for every timeframe, so all
+ * timeframes are built from the same ticks.
+ *
+ * Each pair has a fold lock, held across the late check and all timeframes, and a publish
+ * lock. A tick that closes bars takes the publish lock before it releases the fold lock, so
+ * bar closes of a pair are published in the order they happened, and the next tick can be
+ * folded while they are. Ticks that close nothing never wait for listeners.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BarAggregationService {
+
+    private static final Timeframe[] TIMEFRAMES = Timeframe.values();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final InstrumentRegistry instrumentRegistry;
+
+    // Indexed by instrument id; created on the first tick of a pair
+    private AtomicReferenceArray<PairSeries> series;
+
+    @Value("${forex.bars.capacity:300}")
+    private int capacity = 300;
+
+    @PostConstruct
+    public void initialize() {
+        series = new AtomicReferenceArray<>(instrumentRegistry.size());
+    }
+
+    /**
+     * Check a tick without applying it.
+     * Throws {@link UnknownInstrumentException} for an unknown pair and
+     * IllegalArgumentException for a missing pair or a non-positive price.
+     */
+    public Instrument validate(Tick tick) {
+        if (tick == null || tick.getPair() == null || !(tick.getPrice() > 0)) {
+            throw new IllegalArgumentException("A tick needs a pair and a positive price");
+        }
+        Instrument instrument = instrumentRegistry.find(tick.getPair());
+        if (instrument == null) {
+            throw new UnknownInstrumentException(tick.getPair());
+        }
+        return instrument;
+    }
+
+    /**
+     * Add a tick to every timeframe of its pair.
+     * Returns the number of bars it closed, or -1 if the tick was late and dropped.
+     */
+    public int onTick(Tick tick) {
+        Instrument instrument = validate(tick);
+        long time = tick.getTimestamp() > 0 ? tick.getTimestamp() : System.currentTimeMillis();
+        PairSeries pair = seriesOf(instrument);
+
+        List<BarCloseEvent> closed = null;
+        pair.fold.lock();
+        try {
+            if (pair.timeframes[Timeframe.M1.ordinal()].isLate(time)) {
+                log.debug("Late tick dropped: {} @ {}", tick.getPair(), time);
+                return -1;
+            }
+            for (BarSeries s : pair.timeframes) {
+                // The series monitor guards readers (getBars)
+                synchronized (s) {
+                    Bar bar = s.onTick(time, tick.getPrice(), tick.getVolume());
+                    if (bar != null) {
+                        ForexData features = s.features(bar);
+                        if (closed == null) closed = new ArrayList<>(TIMEFRAMES.length);
+                        closed.add(new BarCloseEvent(instrument, bar, features));
+                    }
+                }
+            }
+            if (closed == null) return 0;
+            // Hand over: queue for publishing in fold order before the next tick can fold
+            pair.publish.lock();
+        } finally {
+            pair.fold.unlock();
+        }
+
+        // Listeners run predictions; only this pair's later bar closes wait for them
+        try {
+            for (BarCloseEvent event : closed) {
+                log.debug("🕯️ Bar closed: {} {} @ {}", event.getBar().getPair(),
+                        event.getBar().getTimeframe().getKey(), event.getBar().getClose());
+                eventPublisher.publishEvent(event);
+            }
+        } finally {
+            pair.publish.unlock();
+        }
+        return closed.size();
+    }
+
+    /**
+     * Up to {@code limit} most recent closed bars, oldest first.
+     */
+    public List<Bar> getBars(String pair, Timeframe timeframe, int limit) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        PairSeries pairSeries = instrument == null ? null : series.get(instrument.getId());
+        if (pairSeries == null) return List.of();
+        BarSeries s = pairSeries.timeframes[timeframe.ordinal()];
+        synchronized (s) {
+            return s.lastBars(limit);
+        }
+    }
+
+    private PairSeries seriesOf(Instrument instrument) {
+        int id = instrument.getId();
+        PairSeries pairSeries = series.get(id);
+        if (pairSeries != null) return pairSeries;
+
+        BarSeries[] timeframes = new BarSeries[TIMEFRAMES.length];
+        for (Timeframe timeframe : TIMEFRAMES) {
+            timeframes[timeframe.ordinal()] = new BarSeries(instrument.getSymbol(), timeframe, capacity);
+        }
+        pairSeries = new PairSeries(timeframes);
+        // Another thread may have created them first
+        return series.compareAndSet(id, null, pairSeries) ? pairSeries : series.get(id);
+    }
+
+    private record PairSeries(BarSeries[] timeframes, ReentrantLock fold, ReentrantLock publish) {
+
+        PairSeries(BarSeries[] timeframes) {
+            this(timeframes, new ReentrantLock(), new ReentrantLock());
+        }
+    }
+}
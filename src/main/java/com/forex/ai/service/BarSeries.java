@@ -0,0 +1,184 @@
+package com.forex.ai.service;
+
+import com.forex.ai.indicator.StreamingIndicators;
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Timeframe;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bar Series
+ * The forming bar plus a preallocated ring buffer of closed bars for one pair and timeframe.
+ * Not thread-safe: callers synchronize on the series.
+ */
+public final class BarSeries {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final String pair;
+    private final Timeframe timeframe;
+
+    // Closed bars (ring buffer, column layout)
+    private final long[] openTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private int head;
+    private int count;
+
+    // Forming bar (formingOpenTime < 0 = no ticks yet)
+    private long formingOpenTime = -1;
+    private long formingCloseTime;
+    private double formingOpen;
+    private double formingHigh;
+    private double formingLow;
+    private double formingClose;
+    private double formingVolume;
+
+    private final StreamingIndicators indicators = new StreamingIndicators();
+
+    public BarSeries(String pair, Timeframe timeframe, int capacity) {
+        this.pair = pair;
+        this.timeframe = timeframe;
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+    }
+
+    /**
+     * Add a tick. Returns the bar that was closed by it, or null.
+     * Ticks of an already closed bar are dropped (see {@link #isLate}); an out-of-order tick
+     * within the forming bar counts towards its high, low and volume but not its close.
+     */
+    public Bar onTick(long epochMillis, double price, double tickVolume) {
+        long barOpen = timeframe.barOpenTime(epochMillis);
+        if (isLate(epochMillis)) return null;
+        Bar closed = null;
+
+        if (formingOpenTime >= 0 && barOpen > formingOpenTime) {
+            closed = closeFormingBar();
+        }
+
+        if (formingOpenTime < 0) {
+            formingOpenTime = barOpen;
+            formingOpen = price;
+            formingHigh = price;
+            formingLow = price;
+            formingClose = price;
+            formingCloseTime = epochMillis;
+            formingVolume = 0.0;
+        }
+        formingHigh = Math.max(formingHigh, price);
+        formingLow = Math.min(formingLow, price);
+        if (epochMillis >= formingCloseTime) {
+            formingClose = price;
+            formingCloseTime = epochMillis;
+        }
+        formingVolume += tickVolume;
+        return closed;
+    }
+
+    /**
+     * Whether a tick at this time belongs to a bar that has already closed.
+     */
+    public boolean isLate(long epochMillis) {
+        long barOpen = timeframe.barOpenTime(epochMillis);
+        return formingOpenTime >= 0 ? barOpen < formingOpenTime : count > 0 && barOpen <= lastOpenTime();
+    }
+
+    private long lastOpenTime() {
+        return openTime[Math.floorMod(head - 1, openTime.length)];
+    }
+
+    private Bar closeFormingBar() {
+        openTime[head] = formingOpenTime;
+        open[head] = formingOpen;
+        high[head] = formingHigh;
+        low[head] = formingLow;
+        close[head] = formingClose;
+        volume[head] = formingVolume;
+        head = (head + 1) % openTime.length;
+        if (count < openTime.length) count++;
+
+        indicators.update(formingHigh, formingLow, formingClose);
+
+        Bar bar = Bar.builder()
+                .pair(pair)
+                .timeframe(timeframe)
+                .openTime(formingOpenTime)
+                .open(formingOpen)
+                .high(formingHigh)
+                .low(formingLow)
+                .close(formingClose)
+                .volume(formingVolume)
+                .build();
+        formingOpenTime = -1;
+        return bar;
+    }
+
+    /**
+     * Model input for the last closed bar, or null while the indicators are warming up.
+     */
+    public ForexData features(Bar bar) {
+        if (!indicators.isWarm()) return null;
+        return ForexData.builder()
+                .pair(pair)
+                .timeframe(timeframe)
+                .open(bar.getOpen())
+                .high(bar.getHigh())
+                .low(bar.getLow())
+                .close(bar.getClose())
+                .volume(bar.getVolume())
+                .rsi(indicators.getRsi())
+                .macd(indicators.getMacd())
+                .macdSignal(indicators.getMacdSignal())
+                .emaFast(indicators.getEmaFast())
+                .emaSlow(indicators.getEmaSlow())
+                .bbUpper(indicators.getBbUpper())
+                .bbLower(indicators.getBbLower())
+                .atr(indicators.getAtr())
+                .timestamp(TIME_FORMAT.format(Instant.ofEpochMilli(bar.getOpenTime() + timeframe.getMillis())))
+                .build();
+    }
+
+    /**
+     * Up to {@code limit} most recent closed bars, oldest first.
+     */
+    public List<Bar> lastBars(int limit) {
+        int n = Math.max(0, Math.min(limit, count));
+        List<Bar> bars = new ArrayList<>(n);
+        for (int i = n; i >= 1; i--) {
+            int idx = Math.floorMod(head - i, openTime.length);
+            bars.add(Bar.builder()
+                    .pair(pair)
+                    .timeframe(timeframe)
+                    .openTime(openTime[idx])
+                    .open(open[idx])
+                    .high(high[idx])
+                    .low(low[idx])
+                    .close(close[idx])
+                    .volume(volume[idx])
+                    .build());
+        }
+        return bars;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Timeframe getTimeframe() {
+        return timeframe;
+    }
+}
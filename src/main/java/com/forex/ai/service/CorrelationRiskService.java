@@ -0,0 +1,235 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.metrics.CorrelationSnapshot;
+import com.forex.ai.metrics.RollingCovariance;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.Timeframe;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Correlation Risk Service
+ * Portfolio-aware risk from the rolling correlation of 1m log returns across all pairs.
+ *
+ * Every 1m bar close contributes its pair's return to the row of that minute; when the
+ * first bar of a later minute arrives the row is added to a {@link RollingCovariance}
+ * (pairs without a bar in that minute count as unchanged) and a new immutable
+ * {@link CorrelationSnapshot} is published. A return is only taken against the bar of the
+ * minute before; after a gap the pair contributes nothing for that minute, so a move
+ * spread over several minutes is not counted as one 1m return. Risk checks read only the snapshot and the
+ * paper trading directions, so they never wait on the writer.
+ *
+ * Positions count as one unit of risk each (volatility-normalized), so the correlated
+ * exposure of a new trade is the sum of direction * correlation over the open positions
+ * of other pairs: "how many equivalent same-direction positions it would stack on".
+ */
+@Service
+@RequiredArgsConstructor
+public class CorrelationRiskService {
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final PaperTradingService paperTradingService;
+
+    @Value("${forex.risk.enabled:true}")
+    private boolean enabled = true;
+
+    // Return rows (1m bars) in the correlation window
+    @Value("${forex.risk.window:240}")
+    private int window = 240;
+
+    // Below this, correlations are too noisy to act on
+    @Value("${forex.risk.min-observations:30}")
+    private int minObservations = 30;
+
+    @Value("${forex.risk.medium-exposure:0.75}")
+    private double mediumExposure = 0.75;
+
+    // Correlated exposure (equivalent positions) at which new trades are blocked
+    @Value("${forex.risk.max-correlated-exposure:1.5}")
+    private double maxCorrelatedExposure = 1.5;
+
+    // Portfolio volatility in single-position units at which new trades are blocked
+    @Value("${forex.risk.max-portfolio-risk:3.0}")
+    private double maxPortfolioRisk = 3.0;
+
+    private final AtomicReference<CorrelationSnapshot> snapshot = new AtomicReference<>();
+    private final LongAdder lateBars = new LongAdder();
+
+    // Writer state, guarded by this
+    private RollingCovariance covariance;
+    private double[] lastClose;
+    private long[] lastOpenTime;
+    private double[] row;
+    private long rowOpenTime = -1;
+
+    @PostConstruct
+    public void initialize() {
+        int n = instrumentRegistry.size();
+        covariance = new RollingCovariance(n, window);
+        lastClose = new double[n];
+        lastOpenTime = new long[n];
+        row = new double[n];
+    }
+
+    @EventListener
+    public void onBarClose(BarCloseEvent event) {
+        if (!enabled || event.getBar().getTimeframe() != Timeframe.M1) return;
+        onBar(event.getInstrument(), event.getBar().getOpenTime(), event.getBar().getClose());
+    }
+
+    /**
+     * Add the close of a 1m bar.
+     */
+    public synchronized void onBar(Instrument instrument, long openTime, double close) {
+        if (!(close > 0)) return;
+        if (rowOpenTime >= 0 && openTime < rowOpenTime) {
+            lateBars.increment();
+            return;
+        }
+        if (openTime > rowOpenTime) {
+            if (rowOpenTime >= 0) commitRow();
+            rowOpenTime = openTime;
+        }
+
+        int id = instrument.getId();
+        double previous = lastClose[id];
+        if (previous > 0 && lastOpenTime[id] == openTime - Timeframe.M1.getMillis()) {
+            row[id] = Math.log(close / previous);
+        }
+        lastClose[id] = close;
+        lastOpenTime[id] = openTime;
+    }
+
+    private void commitRow() {
+        covariance.add(row);
+        Arrays.fill(row, 0.0);
+        snapshot.set(covariance.snapshot(rowOpenTime));
+    }
+
+    /**
+     * Risk level of a new trade given the open paper positions: LOW, MEDIUM or HIGH.
+     * LOW until enough return rows are available.
+     */
+    public String riskLevel(Instrument instrument, String signal) {
+        int direction = switch (signal) {
+            case "BUY" -> 1;
+            case "SELL" -> -1;
+            default -> 0;
+        };
+        CorrelationSnapshot current = snapshot.get();
+        if (!enabled || instrument == null || direction == 0
+                || current == null || current.getObservations() < minObservations) {
+            return "LOW";
+        }
+
+        int k = instrument.getId();
+        double exposure = correlatedExposure(current, k, direction);
+        double risk = portfolioRisk(current, k, direction);
+        if (exposure >= maxCorrelatedExposure || risk >= maxPortfolioRisk) return "HIGH";
+        if (exposure >= mediumExposure) return "MEDIUM";
+        return "LOW";
+    }
+
+    private double correlatedExposure(CorrelationSnapshot current, int k, int direction) {
+        double exposure = 0.0;
+        for (int i = 0; i < current.size(); i++) {
+            int held = i == k ? 0 : paperTradingService.getDirection(i);
+            if (held != 0) exposure += held * direction * current.correlation(i, k);
+        }
+        return exposure;
+    }
+
+    /**
+     * sqrt(w' C w) over the open positions plus the candidate ({@code direction} 0 = none).
+     */
+    private double portfolioRisk(CorrelationSnapshot current, int k, int direction) {
+        int n = current.size();
+        int[] ids = new int[n];
+        int[] weights = new int[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            int w = i == k && direction != 0 ? direction : paperTradingService.getDirection(i);
+            if (w != 0) {
+                ids[m] = i;
+                weights[m++] = w;
+            }
+        }
+        double variance = 0.0;
+        for (int a = 0; a < m; a++) {
+            variance += 1.0;
+            for (int b = a + 1; b < m; b++) {
+                variance += 2.0 * weights[a] * weights[b] * current.correlation(ids[a], ids[b]);
+            }
+        }
+        return Math.sqrt(Math.max(0.0, variance));
+    }
+
+    /**
+     * Latest snapshot, or null before the first complete return row.
+     */
+    public CorrelationSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Exposure of the open positions and the most correlated pairs.
+     */
+    public Map<String, Object> getReport(int topPairs) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("window", window);
+        report.put("lateBars", lateBars.sum());
+        CorrelationSnapshot current = snapshot.get();
+        if (current == null) {
+            report.put("observations", 0);
+            return report;
+        }
+        report.put("observations", current.getObservations());
+        report.put("barOpenTime", current.getBarOpenTime());
+        report.put("ready", current.getObservations() >= minObservations);
+        report.put("portfolioRisk", round(portfolioRisk(current, -1, 0)));
+
+        List<Map<String, Object>> positions = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            int held = paperTradingService.getDirection(i);
+            if (held == 0) continue;
+            Map<String, Object> position = new LinkedHashMap<>();
+            position.put("pair", instrumentRegistry.get(i).getSymbol());
+            position.put("direction", held > 0 ? "LONG" : "SHORT");
+            position.put("volatility", current.volatility(i));
+            position.put("correlatedExposure", round(correlatedExposure(current, i, held)));
+            positions.add(position);
+        }
+        report.put("positions", positions);
+
+        List<Map<String, Object>> correlations = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            for (int j = i + 1; j < current.size(); j++) {
+                Map<String, Object> pair = new LinkedHashMap<>();
+                pair.put("pairs", instrumentRegistry.get(i).getSymbol() + "/" + instrumentRegistry.get(j).getSymbol());
+                pair.put("correlation", round(current.correlation(i, j)));
+                correlations.add(pair);
+            }
+        }
+        correlations.sort(Comparator.comparingDouble(c -> -Math.abs((Double) c.get("correlation"))));
+        report.put("topCorrelations", correlations.subList(0, Math.min(topPairs, correlations.size())));
+        return report;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.metrics.DriftReference;
+import com.forex.ai.metrics.FeatureDriftStats;
+import com.forex.ai.ml.SignalFeatures;
+import com.forex.ai.model.Instrument;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drift Monitor Service
+ * Compares the inputs of every prediction with the training distribution, per pair and feature.
+ * Updates run inline on the predicting thread; memory is fixed per configured instrument
+ * (see {@link FeatureDriftStats}). Inputs of pairs outside the registry are only counted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DriftMonitorService {
+
+    public enum Status { INSUFFICIENT_DATA, STABLE, MODERATE, SIGNIFICANT }
+
+    private final InstrumentRegistry instrumentRegistry;
+
+    @Value("${forex.drift.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${forex.drift.bins:10}")
+    private int bins = 10;
+
+    @Value("${forex.drift.window-size:1000}")
+    private int windowSize = 1000;
+
+    @Value("${forex.drift.min-samples:100}")
+    private int minSamples = 100;
+
+    // Common PSI rule of thumb: < 0.1 stable, 0.1-0.25 moderate, > 0.25 significant
+    @Value("${forex.drift.psi-moderate:0.1}")
+    private double psiModerate = 0.1;
+
+    @Value("${forex.drift.psi-significant:0.25}")
+    private double psiSignificant = 0.25;
+
+    private DriftReference reference;
+    // Indexed by instrument id, created on the first prediction of a pair
+    private AtomicReferenceArray<FeatureDriftStats> pairs;
+    private final LongAdder untracked = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        // The model is trained on the sample set, so that is the reference distribution
+        reference = DriftReference.fromTrainingSet(WekaModelService.sampleTrainingSet(), bins);
+        pairs = new AtomicReferenceArray<>(instrumentRegistry.size());
+    }
+
+    @EventListener
+    public void onPrediction(PredictionEvent event) {
+        if (!enabled || !event.isLiveInput()) return;
+        Instrument instrument = event.getInstrument();
+        if (instrument == null) {
+            untracked.increment();
+            return;
+        }
+        statsOf(instrument.getId()).record(SignalFeatures.toFeatures(event.getData()));
+    }
+
+    private FeatureDriftStats statsOf(int id) {
+        FeatureDriftStats stats = pairs.get(id);
+        if (stats != null) return stats;
+        FeatureDriftStats created = new FeatureDriftStats(reference, windowSize);
+        return pairs.compareAndSet(id, null, created) ? created : pairs.get(id);
+    }
+
+    /**
+     * Drift status of every tracked pair.
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summaries = new LinkedHashMap<>();
+        for (int id = 0; id < pairs.length(); id++) {
+            FeatureDriftStats stats = pairs.get(id);
+            if (stats == null) continue;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            double maxPsi = 0.0;
+            List<String> drifted = new ArrayList<>();
+            for (int f = 0; f < SignalFeatures.NUM_FEATURES; f++) {
+                double psi = stats.psi(f);
+                maxPsi = Math.max(maxPsi, psi);
+                if (psi >= psiSignificant) drifted.add(SignalFeatures.FEATURE_NAMES.get(f));
+            }
+            summary.put("status", status(stats, maxPsi));
+            summary.put("observations", stats.getObservations());
+            summary.put("maxPsi", Math.round(maxPsi * 10000.0) / 10000.0);
+            summary.put("driftedFeatures", drifted);
+            summaries.put(instrumentRegistry.get(id).getSymbol(), summary);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("pairs", summaries);
+        response.put("trackedPairs", summaries.size());
+        response.put("untrackedObservations", untracked.sum());
+        return response;
+    }
+
+    /**
+     * Per-feature statistics and drift scores of one pair, or null if the pair is not tracked.
+     */
+    public Map<String, Object> getReport(String pair) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        FeatureDriftStats stats = instrument == null ? null : pairs.get(instrument.getId());
+        if (stats == null) return null;
+
+        Map<String, Object> features = stats.toMap(SignalFeatures.FEATURE_NAMES);
+        features.values().forEach(value -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> feature = (Map<String, Object>) value;
+            feature.put("status", status(stats, (Double) feature.get("psi")));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("pair", instrument.getSymbol());
+        report.put("observations", stats.getObservations());
+        report.put("windowObservations", stats.getWindowObservations());
+        report.put("features", features);
+        return report;
+    }
+
+    private Status status(FeatureDriftStats stats, double psi) {
+        if (stats.getWindowObservations() < minSamples) return Status.INSUFFICIENT_DATA;
+        if (psi >= psiSignificant) return Status.SIGNIFICANT;
+        if (psi >= psiModerate) return Status.MODERATE;
+        return Status.STABLE;
+    }
+}
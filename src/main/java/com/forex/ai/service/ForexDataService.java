@@ -1,6 +1,8 @@
 package com.forex.ai.service;
 
 import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -15,8 +17,10 @@ import java.util.Random;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ForexDataService {
 
+    private final InstrumentRegistry instrumentRegistry;
     private final Random random = new Random();
 
     /**
@@ -24,44 +28,50 @@ public class ForexDataService {
      * In a real project, this method would get data from the JForex API.
      */
     public ForexData generateSimulatedData(String pair) {
-        log.debug("📊 Generating simulated data for {}...", pair);
+        return generateSimulatedData(instrument(pair));
+    }
+
+    public ForexData generateSimulatedData(Instrument instrument) {
+        log.debug("📊 Generating simulated data for {}...", instrument.getSymbol());
 
-        // Base price (for the given pair)
-        double basePrice = getBasePrice(pair);
+        // Base price (for the given pair); offsets below are in pips of the pair
+        double basePrice = instrument.getBasePrice();
+        double pip = instrument.getPipSize();
+        int precision = instrument.getPrecision();
 
         // Generate random RSI (between 25-75, similar to the real market)
         double rsi = 25 + random.nextDouble() * 50;
 
         // Price change simulation
-        double priceVariation = (random.nextDouble() - 0.5) * 0.0100;
+        double priceVariation = (random.nextDouble() - 0.5) * 100 * pip;
         double close = basePrice + priceVariation;
-        double open = close - (random.nextDouble() - 0.5) * 0.0020;
-        double high = Math.max(open, close) + random.nextDouble() * 0.0015;
-        double low = Math.min(open, close) - random.nextDouble() * 0.0015;
+        double open = close - (random.nextDouble() - 0.5) * 20 * pip;
+        double high = Math.max(open, close) + random.nextDouble() * 15 * pip;
+        double low = Math.min(open, close) - random.nextDouble() * 15 * pip;
         double volume = 8000 + random.nextDouble() * 20000;
 
         // Calculate EMA (simplified)
-        double emaFast = close + (random.nextDouble() - 0.5) * 0.0010;
-        double emaSlow = close + (random.nextDouble() - 0.5) * 0.0020;
+        double emaFast = close + (random.nextDouble() - 0.5) * 10 * pip;
+        double emaSlow = close + (random.nextDouble() - 0.5) * 20 * pip;
 
         // Calculate MACD
         double macd = emaFast - emaSlow;
-        double macdSignal = macd + (random.nextDouble() - 0.5) * 0.0005;
+        double macdSignal = macd + (random.nextDouble() - 0.5) * 5 * pip;
 
         // Bollinger Bands (20 period, 2 std)
-        double stdDev = 0.0030 + random.nextDouble() * 0.0020;
+        double stdDev = (30 + random.nextDouble() * 20) * pip;
         double bbUpper = close + 2 * stdDev;
         double bbLower = close - 2 * stdDev;
 
         // ATR (Average True Range)
-        double atr = 0.0010 + random.nextDouble() * 0.0030;
+        double atr = (10 + random.nextDouble() * 30) * pip;
 
         return ForexData.builder()
-                .pair(pair)
-                .open(round(open, 5))
-                .high(round(high, 5))
-                .low(round(low, 5))
-                .close(round(close, 5))
+                .pair(instrument.getSymbol())
+                .open(round(open, precision))
+                .high(round(high, precision))
+                .low(round(low, precision))
+                .close(round(close, precision))
                 .volume(round(volume, 0))
                 .rsi(round(rsi, 2))
                 .macd(round(macd, 5))
@@ -80,22 +90,27 @@ public class ForexDataService {
      * Overbought scenario - SELL signal expected
      */
     public ForexData generateOverboughtData(String pair) {
-        double basePrice = getBasePrice(pair);
+        return generateOverboughtData(instrument(pair));
+    }
+
+    public ForexData generateOverboughtData(Instrument instrument) {
+        double basePrice = instrument.getBasePrice();
+        double pip = instrument.getPipSize();
         return ForexData.builder()
-                .pair(pair)
-                .open(basePrice + 0.0080)
-                .high(basePrice + 0.0100)
-                .low(basePrice + 0.0060)
-                .close(basePrice + 0.0090)
+                .pair(instrument.getSymbol())
+                .open(basePrice + 80 * pip)
+                .high(basePrice + 100 * pip)
+                .low(basePrice + 60 * pip)
+                .close(basePrice + 90 * pip)
                 .volume(12000)
                 .rsi(76.5)           // Very high RSI → SELL
-                .macd(0.0030)
-                .macdSignal(0.0022)
-                .emaFast(basePrice + 0.0088)
-                .emaSlow(basePrice + 0.0070)
-                .bbUpper(basePrice + 0.0095)
-                .bbLower(basePrice + 0.0045)
-                .atr(0.0025)
+                .macd(30 * pip)
+                .macdSignal(22 * pip)
+                .emaFast(basePrice + 88 * pip)
+                .emaSlow(basePrice + 70 * pip)
+                .bbUpper(basePrice + 95 * pip)
+                .bbLower(basePrice + 45 * pip)
+                .atr(25 * pip)
                 .timestamp(LocalDateTime.now()
                         .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
                 .build();
@@ -105,22 +120,27 @@ public class ForexDataService {
      * Oversold scenario - BUY signal expected
      */
     public ForexData generateOversoldData(String pair) {
-        double basePrice = getBasePrice(pair);
+        return generateOversoldData(instrument(pair));
+    }
+
+    public ForexData generateOversoldData(Instrument instrument) {
+        double basePrice = instrument.getBasePrice();
+        double pip = instrument.getPipSize();
         return ForexData.builder()
-                .pair(pair)
-                .open(basePrice - 0.0080)
-                .high(basePrice - 0.0060)
-                .low(basePrice - 0.0100)
-                .close(basePrice - 0.0090)
+                .pair(instrument.getSymbol())
+                .open(basePrice - 80 * pip)
+                .high(basePrice - 60 * pip)
+                .low(basePrice - 100 * pip)
+                .close(basePrice - 90 * pip)
                 .volume(18000)
                 .rsi(28.3)           // Very low RSI → BUY
-                .macd(-0.0020)
-                .macdSignal(-0.0015)
-                .emaFast(basePrice - 0.0088)
-                .emaSlow(basePrice - 0.0070)
-                .bbUpper(basePrice - 0.0045)
-                .bbLower(basePrice - 0.0095)
-                .atr(0.0022)
+                .macd(-20 * pip)
+                .macdSignal(-15 * pip)
+                .emaFast(basePrice - 88 * pip)
+                .emaSlow(basePrice - 70 * pip)
+                .bbUpper(basePrice - 45 * pip)
+                .bbLower(basePrice - 95 * pip)
+                .atr(22 * pip)
                 .timestamp(LocalDateTime.now()
                         .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
                 .build();
@@ -130,39 +150,41 @@ public class ForexDataService {
      * Neutral scenario - HOLD signal expected
      */
     public ForexData generateNeutralData(String pair) {
-        double basePrice = getBasePrice(pair);
+        return generateNeutralData(instrument(pair));
+    }
+
+    public ForexData generateNeutralData(Instrument instrument) {
+        double basePrice = instrument.getBasePrice();
+        double pip = instrument.getPipSize();
         return ForexData.builder()
-                .pair(pair)
-                .open(basePrice + 0.0001)
-                .high(basePrice + 0.0010)
-                .low(basePrice - 0.0008)
-                .close(basePrice + 0.0002)
+                .pair(instrument.getSymbol())
+                .open(basePrice + pip)
+                .high(basePrice + 10 * pip)
+                .low(basePrice - 8 * pip)
+                .close(basePrice + 2 * pip)
                 .volume(9000)
                 .rsi(51.2)           // Neutral RSI → HOLD
-                .macd(0.0001)
-                .macdSignal(0.0001)
-                .emaFast(basePrice + 0.0002)
-                .emaSlow(basePrice + 0.0001)
-                .bbUpper(basePrice + 0.0080)
-                .bbLower(basePrice - 0.0078)
-                .atr(0.0015)
+                .macd(pip)
+                .macdSignal(pip)
+                .emaFast(basePrice + 2 * pip)
+                .emaSlow(basePrice + pip)
+                .bbUpper(basePrice + 80 * pip)
+                .bbLower(basePrice - 78 * pip)
+                .atr(15 * pip)
                 .timestamp(LocalDateTime.now()
                         .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
                 .build();
     }
 
     /**
-     * Base price for the currency pair
+     * Configured instrument for the pair
      */
-    private double getBasePrice(String pair) {
-        return switch (pair.toUpperCase()) {
-            case "EURUSD" -> 1.0850;
-            case "GBPUSD" -> 1.2650;
-            case "USDJPY" -> 149.50;
-            case "USDCHF" -> 0.8850;
-            case "AUDUSD" -> 0.6550;
-            default -> 1.0000;
-        };
+    private Instrument instrument(String pair) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        if (instrument == null) {
+            throw new UnknownInstrumentException(pair);
+        }
+        return instrument;
     }
 
     private double round(double value, int decimals) {
@@ -0,0 +1,83 @@
+package com.forex.ai.service;
+
+import com.forex.ai.model.Instrument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Instrument Registry
+ * Configured instruments with dense integer ids, in configuration order.
+ *
+ * Symbols are resolved once at the edge (HTTP, ticks); past that point per-pair state is
+ * kept in arrays indexed by {@link Instrument#getId()}.
+ */
+public final class InstrumentRegistry {
+
+    private final Instrument[] byId;
+    private final Map<String, Instrument> bySymbol;
+    private final List<Instrument> all;
+    private final List<String> symbols;
+
+    public InstrumentRegistry(List<Instrument> instruments) {
+        if (instruments == null || instruments.isEmpty()) {
+            throw new IllegalStateException("No instruments configured (forex.instruments)");
+        }
+        byId = new Instrument[instruments.size()];
+        bySymbol = new HashMap<>(instruments.size() * 2);
+        List<String> names = new ArrayList<>(instruments.size());
+
+        for (int id = 0; id < byId.length; id++) {
+            Instrument configured = instruments.get(id);
+            String symbol = configured.getSymbol() == null ? "" : configured.getSymbol().trim().toUpperCase(Locale.ROOT);
+            if (symbol.isEmpty() || !(configured.getPipSize() > 0) || !(configured.getBasePrice() > 0)) {
+                throw new IllegalStateException("Instrument #" + id + " needs a symbol, pipSize and basePrice");
+            }
+            Instrument instrument = configured.toBuilder().id(id).symbol(symbol).build();
+            if (bySymbol.putIfAbsent(symbol, instrument) != null) {
+                throw new IllegalStateException("Duplicate instrument: " + symbol);
+            }
+            byId[id] = instrument;
+            names.add(symbol);
+        }
+        all = List.of(byId);
+        symbols = Collections.unmodifiableList(names);
+    }
+
+    public static InstrumentRegistry of(Instrument... instruments) {
+        return new InstrumentRegistry(List.of(instruments));
+    }
+
+    /**
+     * Instrument by symbol, or null if it is not configured.
+     * Exact match first; the symbol is only upper-cased when that misses.
+     */
+    public Instrument find(String symbol) {
+        if (symbol == null) return null;
+        Instrument instrument = bySymbol.get(symbol);
+        return instrument != null ? instrument : bySymbol.get(symbol.toUpperCase(Locale.ROOT));
+    }
+
+    public Instrument get(int id) {
+        return byId[id];
+    }
+
+    public int size() {
+        return byId.length;
+    }
+
+    /**
+     * All instruments, ordered by id.
+     */
+    public List<Instrument> all() {
+        return all;
+    }
+
+    public List<String> symbols() {
+        return symbols;
+    }
+}
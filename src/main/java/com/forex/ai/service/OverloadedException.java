@@ -0,0 +1,11 @@
+package com.forex.ai.service;
+
+/**
+ * Thrown when admission control sheds a request.
+ */
+public class OverloadedException extends RuntimeException {
+
+    public OverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,295 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PaperPosition;
+import com.forex.ai.model.PaperTradingSnapshot;
+import com.forex.ai.model.PredictionResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Paper Trading Service
+ * Acts on model signals with simulated positions, without touching a broker.
+ *
+ * Each pair has its own book guarded by its own lock, so signal bursts on
+ * different pairs never contend with each other. Books are indexed by instrument id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaperTradingService {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final InstrumentRegistry instrumentRegistry;
+
+    // Created on the first signal of a pair
+    private AtomicReferenceArray<PairBook> books;
+
+    // +1 long, -1 short, 0 flat; readable without taking the book locks
+    private AtomicIntegerArray directions;
+
+    @Value("${forex.paper.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${forex.paper.units:100000}")
+    private double units = 100_000;
+
+    @Value("${forex.paper.stop-atr-multiplier:2.0}")
+    private double stopAtrMultiplier = 2.0;
+
+    @Value("${forex.paper.take-profit-atr-multiplier:3.0}")
+    private double takeProfitAtrMultiplier = 3.0;
+
+    @PostConstruct
+    public void initialize() {
+        books = new AtomicReferenceArray<>(instrumentRegistry.size());
+        directions = new AtomicIntegerArray(instrumentRegistry.size());
+    }
+
+    /**
+     * Trades bar-close signals only: request bodies, simulations and scenarios are not prices.
+     */
+    @EventListener
+    public void onPrediction(PredictionEvent event) {
+        if (event.getSource() != PredictionEvent.Source.BAR_CLOSE) return;
+        onSignal(event.getInstrument(), event.getData(), event.getResult());
+    }
+
+    public void onSignal(ForexData data, PredictionResult result) {
+        onSignal(instrumentRegistry.find(data.getPair()), data, result);
+    }
+
+    /**
+     * Mark the pair to market and act on the signal.
+     * BUY/SELL with shouldTrade opens a position (closing an opposite one first);
+     * stops and targets are checked on every price update. Signals without a positive
+     * ATR are not traded, since the stop would sit at the entry price.
+     */
+    public void onSignal(Instrument instrument, ForexData data, PredictionResult result) {
+        if (!enabled || instrument == null || data.getClose() <= 0) return;
+
+        PairBook book = bookOf(instrument);
+        synchronized (book) {
+            double price = data.getClose();
+            book.markToMarket(price);
+
+            if (!result.isShouldTrade()) return;
+
+            String side = switch (result.getSignal()) {
+                case "BUY" -> "LONG";
+                case "SELL" -> "SHORT";
+                default -> null;
+            };
+            if (side == null) return;
+            if (!(data.getAtr() > 0)) {
+                log.debug("🧾 {} {} ignored: ATR {} gives no stop distance", result.getSignal(), instrument.getSymbol(), data.getAtr());
+                return;
+            }
+
+            if (book.position != null && !book.position.getSide().equals(side)) {
+                book.close(price, "signal reversal");
+            }
+            if (book.position == null) {
+                book.open(side, price, data.getAtr());
+            }
+        }
+    }
+
+    /**
+     * Snapshot of one pair, or null if the engine has never seen it.
+     */
+    public PaperTradingSnapshot getSnapshot(String pair) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        PairBook book = instrument == null ? null : books.get(instrument.getId());
+        if (book == null) return null;
+        synchronized (book) {
+            return book.snapshot();
+        }
+    }
+
+    /**
+     * Snapshots of every pair seen so far, in instrument order.
+     */
+    public List<PaperTradingSnapshot> getSnapshots() {
+        List<PaperTradingSnapshot> snapshots = new ArrayList<>();
+        for (int id = 0; id < books.length(); id++) {
+            PairBook book = books.get(id);
+            if (book == null) continue;
+            synchronized (book) {
+                snapshots.add(book.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * PnL and exposure summed per quote currency: amounts of pairs quoted in different
+     * currencies are not added up, since without conversion rates the sum means nothing.
+     */
+    public Map<String, Map<String, Object>> getTotalsByQuoteCurrency(List<PaperTradingSnapshot> snapshots) {
+        Map<String, CurrencyTotals> byCurrency = new LinkedHashMap<>();
+        for (PaperTradingSnapshot snapshot : snapshots) {
+            byCurrency.computeIfAbsent(snapshot.getQuoteCurrency(), currency -> new CurrencyTotals()).add(snapshot);
+        }
+        Map<String, Map<String, Object>> totals = new LinkedHashMap<>();
+        byCurrency.forEach((currency, total) -> totals.put(currency, total.toMap()));
+        return totals;
+    }
+
+    /**
+     * Direction of the open position of an instrument: +1 long, -1 short, 0 flat.
+     */
+    public int getDirection(int instrumentId) {
+        return directions.get(instrumentId);
+    }
+
+    /**
+     * Drop all positions and statistics.
+     */
+    public void reset() {
+        for (int id = 0; id < books.length(); id++) {
+            books.set(id, null);
+            directions.set(id, 0);
+        }
+        log.info("🧾 Paper trading reset");
+    }
+
+    private PairBook bookOf(Instrument instrument) {
+        int id = instrument.getId();
+        PairBook book = books.get(id);
+        // Loop: reset() may clear the slot between the CAS and the read
+        while (book == null) {
+            PairBook created = new PairBook(instrument);
+            book = books.compareAndSet(id, null, created) ? created : books.get(id);
+        }
+        return book;
+    }
+
+    /**
+     * Mutable per-pair state; only touched while holding the book's monitor.
+     */
+    private final class PairBook {
+
+        private final int id;
+        private final String pair;
+        private final String quoteCurrency;
+        private PaperPosition position;
+        private double realizedPnl;
+        private int closedTrades;
+        private int winningTrades;
+        private double lastPrice;
+        private String updatedAt;
+
+        PairBook(Instrument instrument) {
+            this.id = instrument.getId();
+            this.pair = instrument.getSymbol();
+            this.quoteCurrency = instrument.getQuoteCurrency();
+        }
+
+        void markToMarket(double price) {
+            lastPrice = price;
+            updatedAt = LocalDateTime.now().format(TIME_FORMAT);
+            if (position == null) return;
+
+            position.setUnrealizedPnl(pnl(position, price));
+
+            boolean isLong = position.getSide().equals("LONG");
+            if (isLong ? price <= position.getStopLoss() : price >= position.getStopLoss()) {
+                close(price, "stop loss");
+            } else if (isLong ? price >= position.getTakeProfit() : price <= position.getTakeProfit()) {
+                close(price, "take profit");
+            }
+        }
+
+        void open(String side, double price, double atr) {
+            double direction = side.equals("LONG") ? 1 : -1;
+            position = PaperPosition.builder()
+                    .side(side)
+                    .units(units)
+                    .entryPrice(price)
+                    .stopLoss(price - direction * stopAtrMultiplier * atr)
+                    .takeProfit(price + direction * takeProfitAtrMultiplier * atr)
+                    .openedAt(updatedAt)
+                    .build();
+            directions.set(id, (int) direction);
+            log.info("🧾 Paper {} {} @ {} (SL {} / TP {})", side, pair, price,
+                    position.getStopLoss(), position.getTakeProfit());
+        }
+
+        void close(double price, String reason) {
+            double pnl = pnl(position, price);
+            realizedPnl += pnl;
+            closedTrades++;
+            if (pnl > 0) winningTrades++;
+            log.info("🧾 Paper close {} {} @ {} ({}) PnL: {}",
+                    position.getSide(), pair, price, reason, String.format("%.2f", pnl));
+            position = null;
+            directions.set(id, 0);
+        }
+
+        PaperTradingSnapshot snapshot() {
+            PaperPosition copy = position == null ? null : position.toBuilder().build();
+            double unrealized = position == null ? 0.0 : position.getUnrealizedPnl();
+            return PaperTradingSnapshot.builder()
+                    .pair(pair)
+                    .quoteCurrency(quoteCurrency)
+                    .position(copy)
+                    .realizedPnl(realizedPnl)
+                    .unrealizedPnl(unrealized)
+                    .exposure(position == null ? 0.0 : position.getUnits() * lastPrice)
+                    .closedTrades(closedTrades)
+                    .winningTrades(winningTrades)
+                    .lastPrice(lastPrice)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+
+        private double pnl(PaperPosition p, double price) {
+            double direction = p.getSide().equals("LONG") ? 1 : -1;
+            return direction * (price - p.getEntryPrice()) * p.getUnits();
+        }
+    }
+
+    private static final class CurrencyTotals {
+
+        private int pairs;
+        private int openPositions;
+        private double realizedPnl;
+        private double unrealizedPnl;
+        private double exposure;
+
+        void add(PaperTradingSnapshot snapshot) {
+            pairs++;
+            if (snapshot.getPosition() != null) openPositions++;
+            realizedPnl += snapshot.getRealizedPnl();
+            unrealizedPnl += snapshot.getUnrealizedPnl();
+            exposure += snapshot.getExposure();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("pairs", pairs);
+            map.put("openPositions", openPositions);
+            map.put("realizedPnl", realizedPnl);
+            map.put("unrealizedPnl", unrealizedPnl);
+            map.put("exposure", exposure);
+            return map;
+        }
+    }
+}
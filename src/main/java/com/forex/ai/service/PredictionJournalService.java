@@ -0,0 +1,116 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.journal.PredictionJournal;
+import com.forex.ai.ml.SignalFeatures;
+import com.forex.ai.model.JournalRecord;
+import com.forex.ai.model.PredictionResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prediction Journal Service
+ * Records every prediction (input features, output and model version) so it can be
+ * audited or replayed later. Request threads only enqueue; see {@link PredictionJournal}.
+ */
+@Slf4j
+@Service
+public class PredictionJournalService {
+
+    @Value("${forex.journal.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${forex.journal.directory:journal}")
+    private String directory = "journal";
+
+    @Value("${forex.journal.segment-size-mb:64}")
+    private int segmentSizeMb = 64;
+
+    @Value("${forex.journal.queue-capacity:65536}")
+    private int queueCapacity = 65_536;
+
+    @Value("${forex.journal.batch-size:1024}")
+    private int batchSize = 1024;
+
+    @Value("${forex.journal.flush-interval-ms:1000}")
+    private long flushIntervalMs = 1000;
+
+    private PredictionJournal journal;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            log.info("📒 Prediction journal disabled");
+            return;
+        }
+        try {
+            journal = new PredictionJournal(Path.of(directory), segmentSizeMb * 1024 * 1024,
+                    queueCapacity, batchSize, flushIntervalMs);
+            journal.start();
+        } catch (IOException e) {
+            log.error("❌ Prediction journal could not be opened: {}", e.getMessage());
+            journal = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (journal != null) journal.close();
+    }
+
+    @EventListener
+    public void onPrediction(PredictionEvent event) {
+        if (journal == null || !event.isLiveInput()) return;
+        PredictionResult result = event.getResult();
+        journal.append(JournalRecord.builder()
+                .timestamp(System.currentTimeMillis())
+                .pair(result.getPair())
+                .timeframe(result.getTimeframe())
+                .modelVersion(event.getModelVersion())
+                .features(SignalFeatures.toFeatures(event.getData()))
+                .signal(result.getSignal())
+                .buyProbability(result.getBuyProbability())
+                .sellProbability(result.getSellProbability())
+                .holdProbability(result.getHoldProbability())
+                .confidence(result.getConfidence())
+                .shouldTrade(result.isShouldTrade())
+                .build());
+    }
+
+    /**
+     * Records in [from, to] (epoch millis), optionally for one pair, at most {@code limit}.
+     */
+    public List<JournalRecord> find(long from, long to, String pair, int limit) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if (journal == null || limit <= 0) return records;
+        journal.replay(from, to, record -> {
+            if (pair == null || pair.equals(record.getPair())) records.add(record);
+            return records.size() < limit;
+        });
+        return records;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", journal != null);
+        if (journal != null) {
+            stats.put("written", journal.getWritten());
+            stats.put("dropped", journal.getDropped());
+            stats.put("queueDepth", journal.getQueueDepth());
+            stats.put("segments", journal.getSegmentCount());
+            stats.put("directory", directory);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,203 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.metrics.LatencyStats;
+import com.forex.ai.ml.ModelAlgorithm;
+import com.forex.ai.ml.SignalClassifier;
+import com.forex.ai.ml.SignalFeatures;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shadow Scoring Service
+ * Champion/challenger evaluation on live traffic.
+ *
+ * Challengers score the same inputs as the live model on a separate bounded executor,
+ * after the live response is already built. When that executor's queue is full the
+ * shadow work is dropped (and counted), so the live path never waits on challengers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShadowScoringService {
+
+    private final WekaModelService wekaModelService;
+
+    private final ConcurrentMap<String, Challenger> challengers = new ConcurrentHashMap<>();
+    private final LatencyStats liveLatency = new LatencyStats();
+    private final LongAdder dropped = new LongAdder();
+
+    @Value("${forex.shadow.threads:1}")
+    private int threads = 1;
+
+    @Value("${forex.shadow.queue-capacity:1024}")
+    private int queueCapacity = 1024;
+
+    // Algorithms registered as challengers at startup, e.g. "histogram-gbdt"
+    @Value("${forex.shadow.challengers:}")
+    private List<String> initialChallengers = List.of();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-scoring-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment());
+
+        for (String key : initialChallengers) {
+            if (key.isBlank()) continue;
+            try {
+                register(key.trim(), ModelAlgorithm.fromKey(key.trim()));
+            } catch (Exception e) {
+                log.error("❌ Challenger {} could not be registered: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onPrediction(PredictionEvent event) {
+        if (!event.isLiveInput()) return;
+        liveLatency.record(event.getInferenceNanos());
+        if (challengers.isEmpty()) return;
+
+        double[] features = SignalFeatures.toFeatures(event.getData());
+        int liveSignal = SignalFeatures.CLASS_VALUES.indexOf(event.getResult().getSignal());
+        double liveConfidence = event.getResult().getConfidence();
+
+        // Never blocks: a full queue goes to the rejection handler
+        executor.execute(() -> score(features, liveSignal, liveConfidence));
+    }
+
+    private void score(double[] features, int liveSignal, double liveConfidence) {
+        for (Challenger challenger : challengers.values()) {
+            try {
+                long start = System.nanoTime();
+                double[] probs = challenger.classifier.distributionForFeatures(features);
+                challenger.latency.record(System.nanoTime() - start);
+
+                int signal = SignalFeatures.maxIndex(probs);
+                double delta = probs[signal] * 100 - liveConfidence;
+                challenger.scored.increment();
+                if (signal == liveSignal) challenger.agreements.increment();
+                challenger.confidenceDelta.add(delta);
+                challenger.absConfidenceDelta.add(Math.abs(delta));
+            } catch (RuntimeException e) {
+                challenger.errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Train a challenger with the given algorithm and start shadowing it.
+     * An existing challenger with the same name is replaced.
+     */
+    public void register(String name, ModelAlgorithm algorithm) throws Exception {
+        register(name, algorithm, false);
+    }
+
+    /**
+     * Same, optionally serving the challenger as a quantized forest (random-forest only).
+     */
+    public void register(String name, ModelAlgorithm algorithm, boolean quantized) throws Exception {
+        log.info("🥊 Training challenger {} ({}{})...", name, algorithm.getKey(), quantized ? ", quantized" : "");
+        SignalClassifier classifier = wekaModelService.trainClassifier(
+                algorithm, WekaModelService.sampleTrainingSet());
+        register(name, quantized ? wekaModelService.quantize(classifier) : classifier);
+    }
+
+    /**
+     * Start shadowing an already trained classifier.
+     */
+    public void register(String name, SignalClassifier classifier) {
+        challengers.put(name, new Challenger(classifier));
+        log.info("🥊 Challenger registered: {} ({})", name, classifier.getName());
+    }
+
+    public boolean remove(String name) {
+        return challengers.remove(name) != null;
+    }
+
+    /**
+     * Agreement rate, confidence deltas and latency per model.
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> live = new LinkedHashMap<>();
+        live.put("modelVersion", wekaModelService.getModelVersion());
+        live.put("latency", liveLatency.toMap());
+
+        Map<String, Object> challengerReports = new LinkedHashMap<>();
+        challengers.forEach((name, challenger) -> challengerReports.put(name, challenger.report()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("live", live);
+        report.put("challengers", challengerReports);
+        report.put("dropped", dropped.sum());
+        report.put("queueDepth", executor.getQueue().size());
+        return report;
+    }
+
+    private static final class Challenger {
+
+        final SignalClassifier classifier;
+        final String registeredAt = LocalDateTime.now().toString();
+        final LatencyStats latency = new LatencyStats();
+        final LongAdder scored = new LongAdder();
+        final LongAdder agreements = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final DoubleAdder confidenceDelta = new DoubleAdder();
+        final DoubleAdder absConfidenceDelta = new DoubleAdder();
+
+        Challenger(SignalClassifier classifier) {
+            this.classifier = classifier;
+        }
+
+        Map<String, Object> report() {
+            long n = scored.sum();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("algorithm", classifier.getName());
+            report.put("registeredAt", registeredAt);
+            report.put("scored", n);
+            report.put("errors", errors.sum());
+            report.put("agreementRate", n == 0 ? 0.0 : round(100.0 * agreements.sum() / n));
+            report.put("meanConfidenceDelta", n == 0 ? 0.0 : round(confidenceDelta.sum() / n));
+            report.put("meanAbsConfidenceDelta", n == 0 ? 0.0 : round(absConfidenceDelta.sum() / n));
+            report.put("latency", latency.toMap());
+            return report;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.model.BarPrediction;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PredictionResult;
+import com.forex.ai.model.SignalSnapshot;
+import com.forex.ai.model.Timeframe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Signal Engine Service
+ * Publishes the latest 1m bar-close signal of every configured pair as one immutable
+ * {@link SignalSnapshot}.
+ *
+ * The prediction of a closed bar is made once, by {@link TimeframePredictionService};
+ * this service only swaps in a copy of the snapshot with that pair's entry replaced, so it
+ * runs no inference and publishes no prediction events. Readers only load the current
+ * snapshot, so polling cost does not depend on inference and never blocks the engine.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SignalEngineService {
+
+    private final TimeframePredictionService timeframePredictionService;
+    private final InstrumentRegistry instrumentRegistry;
+
+    @Value("${forex.signals.enabled:true}")
+    private boolean enabled = true;
+
+    // Pairs whose signal is older are reported as stale (two missed 1m bars by default)
+    @Value("${forex.signals.max-age-ms:120000}")
+    private long maxAgeMs = 120_000;
+
+    private final AtomicReference<SignalSnapshot> snapshot = new AtomicReference<>();
+    private final LongAdder published = new LongAdder();
+    private volatile long lastDurationMicros;
+
+    /**
+     * After TimeframePredictionService has predicted the bar.
+     */
+    @Order(10)
+    @EventListener
+    public void onBarClose(BarCloseEvent event) {
+        if (!enabled || event.getBar().getTimeframe() != Timeframe.M1) return;
+        BarPrediction prediction = timeframePredictionService.getLatest(event.getInstrument(), Timeframe.M1);
+        // No prediction for this bar while the indicators are warming up
+        if (prediction == null || prediction.bar() != event.getBar()) return;
+        publish(event.getInstrument(), prediction);
+    }
+
+    /**
+     * Swap in a snapshot with the instrument's signal replaced.
+     * Writers are serialized so concurrent bar closes of different pairs are not lost.
+     */
+    synchronized SignalSnapshot publish(Instrument instrument, BarPrediction prediction) {
+        long start = System.nanoTime();
+        long barOpenTime = prediction.bar().getOpenTime();
+        SignalSnapshot previous = snapshot.get();
+        if (previous == null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object>[] empty = new Map[instrumentRegistry.size()];
+            previous = new SignalSnapshot(barOpenTime, empty, new long[empty.length]);
+        }
+
+        SignalSnapshot next = previous.with(instrument, signalOf(instrument, prediction),
+                barOpenTime, System.currentTimeMillis());
+        snapshot.set(next);
+        published.increment();
+        lastDurationMicros = (System.nanoTime() - start) / 1000;
+        log.debug("📡 Signal snapshot published for {} @ {}", instrument.getSymbol(), barOpenTime);
+        return next;
+    }
+
+    private static Map<String, Object> signalOf(Instrument instrument, BarPrediction prediction) {
+        Map<String, Object> item = toItem(instrument, prediction.result());
+        item.put("barOpenTime", prediction.bar().getOpenTime());
+        return Collections.unmodifiableMap(item);
+    }
+
+    /**
+     * Response item of a pair's signal.
+     */
+    public static Map<String, Object> toItem(Instrument instrument, PredictionResult result) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("pair", instrument.getSymbol());
+        item.put("signal", result.getSignal());
+        item.put("confidence", result.getConfidence() + "%");
+        item.put("shouldTrade", result.isShouldTrade());
+        item.put("riskLevel", result.getRiskLevel());
+        item.put("reason", result.getReason());
+        return item;
+    }
+
+    /**
+     * Latest published snapshot, or null before the first 1m bar-close prediction.
+     */
+    public SignalSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Staleness of a whole snapshot: the age of its least recently updated pair, and
+     * whether any pair is stale.
+     */
+    public Map<String, Object> describe(SignalSnapshot current) {
+        long now = System.currentTimeMillis();
+        List<String> stalePairs = new ArrayList<>();
+        for (Instrument instrument : instrumentRegistry.all()) {
+            if (current.get(instrument) != null && current.ageMillis(instrument, now) > maxAgeMs) {
+                stalePairs.add(instrument.getSymbol());
+            }
+        }
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("barOpenTime", current.getBarOpenTime());
+        meta.put("oldestPublishedAt", current.getOldestPublishedAt());
+        meta.put("ageMs", current.ageMillis(now));
+        meta.put("stale", !stalePairs.isEmpty());
+        meta.put("stalePairs", stalePairs);
+        return meta;
+    }
+
+    /**
+     * Signals of a snapshot, each with its own publication time, age and staleness.
+     */
+    public List<Map<String, Object>> describeSignals(SignalSnapshot current) {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> signals = new ArrayList<>(current.getSignals().size());
+        for (Instrument instrument : instrumentRegistry.all()) {
+            if (current.get(instrument) != null) signals.add(describeSignal(current, instrument, now));
+        }
+        return signals;
+    }
+
+    /**
+     * Signal of one pair with its publication time, age and staleness, or null if it has none.
+     */
+    public Map<String, Object> describeSignal(SignalSnapshot current, Instrument instrument) {
+        return current.get(instrument) == null ? null : describeSignal(current, instrument, System.currentTimeMillis());
+    }
+
+    private Map<String, Object> describeSignal(SignalSnapshot current, Instrument instrument, long now) {
+        Map<String, Object> item = new LinkedHashMap<>(current.get(instrument));
+        item.put("publishedAt", current.publishedAt(instrument));
+        item.put("ageMs", current.ageMillis(instrument, now));
+        item.put("stale", current.ageMillis(instrument, now) > maxAgeMs);
+        return item;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("published", published.sum());
+        stats.put("lastDurationMicros", lastDurationMicros);
+        return stats;
+    }
+}
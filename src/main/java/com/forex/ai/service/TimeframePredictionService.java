@@ -0,0 +1,70 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.model.BarPrediction;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PredictionResult;
+import com.forex.ai.model.Timeframe;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Timeframe Prediction Service
+ * Runs the model on every bar close and keeps the latest prediction per pair and timeframe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeframePredictionService {
+
+    private static final int TIMEFRAMES = Timeframe.values().length;
+
+    private final WekaModelService wekaModelService;
+    private final InstrumentRegistry instrumentRegistry;
+
+    // Slot instrumentId * TIMEFRAMES + timeframe ordinal
+    private AtomicReferenceArray<BarPrediction> latest;
+
+    @PostConstruct
+    public void initialize() {
+        latest = new AtomicReferenceArray<>(instrumentRegistry.size() * TIMEFRAMES);
+    }
+
+    // Before SignalEngineService, which publishes the prediction stored here
+    @Order(0)
+    @EventListener
+    public void onBarClose(BarCloseEvent event) {
+        if (event.getFeatures() == null) return; // indicators still warming up
+
+        PredictionResult result = wekaModelService.predict(event.getInstrument(), event.getFeatures(),
+                PredictionEvent.Source.BAR_CLOSE, false);
+        latest.set(slot(event.getInstrument(), event.getBar().getTimeframe()), new BarPrediction(event.getBar(), result));
+    }
+
+    /**
+     * Prediction made at the last bar close, or null if none yet.
+     */
+    public PredictionResult getLatest(String pair, Timeframe timeframe) {
+        Instrument instrument = instrumentRegistry.find(pair);
+        BarPrediction prediction = instrument == null ? null : getLatest(instrument, timeframe);
+        return prediction == null ? null : prediction.result();
+    }
+
+    /**
+     * Last bar-close prediction of the instrument with its bar, or null if none yet.
+     */
+    public BarPrediction getLatest(Instrument instrument, Timeframe timeframe) {
+        return latest.get(slot(instrument, timeframe));
+    }
+
+    private static int slot(Instrument instrument, Timeframe timeframe) {
+        return instrument.getId() * TIMEFRAMES + timeframe.ordinal();
+    }
+}
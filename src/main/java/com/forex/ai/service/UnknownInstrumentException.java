@@ -0,0 +1,11 @@
+package com.forex.ai.service;
+
+/**
+ * Thrown when a symbol is not in the instrument registry.
+ */
+public class UnknownInstrumentException extends IllegalArgumentException {
+
+    public UnknownInstrumentException(String symbol) {
+        super("Unknown instrument: " + symbol);
+    }
+}
@@ -0,0 +1,239 @@
+package com.forex.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PredictionResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warm-up Service
+ * Drives synthetic predictions through the request path after startup, so the JIT has
+ * compiled it before the node reports ready. Runs in batches until the median latency
+ * of consecutive batches stops moving, or until the time/iteration budget is spent.
+ *
+ * With a web server the requests are real loopback POSTs to /api/forex/predict (Tomcat,
+ * MVC, Jackson, admission control, inference and event dispatch), carrying this process's
+ * {@link #getSyntheticToken() synthetic token} in {@link #SYNTHETIC_HEADER} so listeners
+ * record nothing. Without one (mock web
+ * environment) the same work runs in-process minus the HTTP layer.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService {
+
+    public enum State { WARMING_UP, READY }
+
+    // Marks a prediction request as synthetic when it carries the synthetic token
+    public static final String SYNTHETIC_HEADER = "X-Forex-Synthetic";
+
+    private static final int SYNTHETIC_REQUESTS = 100;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WekaModelService wekaModelService;
+    private final ForexDataService forexDataService;
+    private final InstrumentRegistry instrumentRegistry;
+    private final ObjectMapper objectMapper;
+
+    // Random per process: a client cannot guess it, so it cannot keep its requests out of the journal
+    private final String syntheticToken = newToken();
+
+    @Value("${forex.warmup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${forex.warmup.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${forex.warmup.min-iterations:2000}")
+    private int minIterations = 2000;
+
+    @Value("${forex.warmup.max-iterations:50000}")
+    private int maxIterations = 50_000;
+
+    @Value("${forex.warmup.max-duration-ms:15000}")
+    private long maxDurationMs = 15_000;
+
+    // Relative change of the batch median considered "stable"
+    @Value("${forex.warmup.tolerance:0.05}")
+    private double tolerance = 0.05;
+
+    @Value("${forex.warmup.stable-batches:3}")
+    private int stableBatches = 3;
+
+    private volatile State state = State.WARMING_UP;
+    private volatile int iterations;
+    private volatile long durationMs;
+    private volatile long medianNanos;
+    private volatile String stopReason;
+
+    // Loopback client and endpoint; null when there is no web server
+    private HttpClient client;
+    private URI predictUri;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            markReady("disabled");
+            return;
+        }
+        if (event.getApplicationContext() instanceof WebServerApplicationContext web && web.getWebServer() != null) {
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+            predictUri = URI.create("http://127.0.0.1:" + web.getWebServer().getPort() + "/api/forex/predict");
+        }
+        Thread thread = new Thread(this::warmUp, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        log.info("🔥 JIT warm-up started ({})...", client != null ? predictUri : "in-process");
+        long start = System.nanoTime();
+        try {
+            List<byte[]> requests = syntheticRequests();
+            long[] latencies = new long[batchSize];
+            long previousMedian = 0;
+            int stable = 0;
+            String reason = "iteration budget";
+
+            while (iterations < maxIterations) {
+                for (int i = 0; i < batchSize; i++) {
+                    byte[] body = requests.get((iterations + i) % requests.size());
+                    long t0 = System.nanoTime();
+                    roundTrip(body);
+                    latencies[i] = System.nanoTime() - t0;
+                }
+                iterations += batchSize;
+
+                Arrays.sort(latencies);
+                long median = latencies[batchSize / 2];
+                medianNanos = median;
+                if (previousMedian > 0
+                        && Math.abs(median - previousMedian) <= tolerance * previousMedian) {
+                    stable++;
+                } else {
+                    stable = 0;
+                }
+                previousMedian = median;
+
+                if (iterations >= minIterations && stable >= stableBatches) {
+                    reason = "latency stable";
+                    break;
+                }
+                if ((System.nanoTime() - start) / 1_000_000 >= maxDurationMs) {
+                    reason = "time budget";
+                    break;
+                }
+            }
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            markReady(reason);
+            log.info("🔥 JIT warm-up finished: {} iterations in {} ms, median {} µs ({})",
+                    iterations, durationMs, String.format("%.1f", medianNanos / 1000.0), reason);
+        } catch (Exception e) {
+            // A failed warm-up must not keep the node out of the pool forever
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            markReady("failed: " + e.getMessage());
+            log.warn("JIT warm-up failed, marking ready anyway: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One synthetic request: over loopback HTTP, or bind JSON, predict and serialize in-process.
+     */
+    private void roundTrip(byte[] body) throws Exception {
+        if (client != null) {
+            HttpRequest request = HttpRequest.newBuilder(predictUri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header(SYNTHETIC_HEADER, syntheticToken)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("warm-up request returned HTTP " + response.statusCode());
+            }
+            return;
+        }
+        ForexData data = objectMapper.readValue(body, ForexData.class);
+        PredictionResult result = wekaModelService.predict(instrumentRegistry.find(data.getPair()), data,
+                PredictionEvent.Source.SYNTHETIC, false);
+        objectMapper.writeValueAsBytes(result);
+    }
+
+    private List<byte[]> syntheticRequests() throws Exception {
+        // Round-robin over the configured instruments, however many there are
+        List<Instrument> instruments = instrumentRegistry.all();
+        byte[][] requests = new byte[SYNTHETIC_REQUESTS][];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = objectMapper.writeValueAsBytes(
+                    forexDataService.generateSimulatedData(instruments.get(i % instruments.size())));
+        }
+        return List.of(requests);
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    /**
+     * Header value that marks a request as synthetic, for in-process callers such as the load test.
+     */
+    public String getSyntheticToken() {
+        return syntheticToken;
+    }
+
+    /**
+     * Whether a {@link #SYNTHETIC_HEADER} value is this process's token (constant-time comparison).
+     */
+    public boolean isSyntheticToken(String value) {
+        return value != null && MessageDigest.isEqual(
+                value.getBytes(StandardCharsets.UTF_8), syntheticToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void markReady(String reason) {
+        stopReason = reason;
+        state = State.READY;
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", state.name());
+        status.put("iterations", iterations);
+        status.put("medianMicros", Math.round(medianNanos / 100.0) / 10.0);
+        if (state == State.READY) {
+            status.put("durationMs", durationMs);
+            status.put("reason", stopReason);
+        }
+        return status;
+    }
+}
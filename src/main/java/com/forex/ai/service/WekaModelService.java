@@ -1,9 +1,25 @@
 package com.forex.ai.service;
 
+import com.forex.ai.ml.ExplanationCache;
+import com.forex.ai.ml.HistogramGbdtTrainer;
+import com.forex.ai.ml.ModelAlgorithm;
+import com.forex.ai.ml.QuantizationReport;
+import com.forex.ai.ml.QuantizedForest;
+import com.forex.ai.ml.SignalClassifier;
+import com.forex.ai.ml.SignalFeatures;
+import com.forex.ai.ml.TrainingSet;
+import com.forex.ai.ml.TreeShapExplainer;
+import com.forex.ai.ml.WekaForestClassifier;
+import com.forex.ai.model.Explanation;
 import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
 import com.forex.ai.model.PredictionResult;
+import com.forex.ai.event.PredictionEvent;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import weka.classifiers.Classifier;
 import weka.classifiers.Evaluation;
@@ -12,24 +28,59 @@ import weka.core.*;
 import weka.core.SerializationHelper;
 
 import java.io.File;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Weka ML Service
  * Trains, saves, and provides predictions from the model.
+ * The learner is pluggable (see {@link ModelAlgorithm}); Weka RandomForest is the default.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class WekaModelService {
 
-    private Classifier model;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InstrumentRegistry instrumentRegistry;
+    private final CorrelationRiskService correlationRiskService;
+
+    // Classifier and its version are swapped together
+    private volatile LiveModel live;
+    private final AtomicLong modelIds = new AtomicLong();
+    private final Object quantizationLock = new Object();
+    private volatile CachedReport quantizationReport;
     private Instances dataStructure;
 
     private static final String MODEL_PATH = "models/forex_model.model";
+    private static final String GBDT_MODEL_PATH = "models/forex_model_gbdt.model";
     private static final double MIN_CONFIDENCE = 0.65; // 65% minimum confidence
+    private static final List<String> RISK_LEVELS = List.of("LOW", "MEDIUM", "HIGH");
+    private static final double DEFAULT_PIP_SIZE = 0.0001;
+    private static final int VALIDATION_JITTER = 100; // jittered copies per training row
+
+    @Value("${forex.model.algorithm:random-forest}")
+    private String algorithmKey = ModelAlgorithm.RANDOM_FOREST.getKey();
+
+    // Serve a RandomForest as a QuantizedForest (float32 thresholds, 8-bit leaf probabilities)
+    @Value("${forex.model.quantized:false}")
+    private boolean quantized = false;
+
+    @Value("${forex.explain.cache-size:10000}")
+    private int explainCacheSize = 10_000;
+
+    private ModelAlgorithm algorithm;
+    private ExplanationCache explanationCache;
 
     /**
      * Prepare the model when the application starts.
@@ -40,9 +91,12 @@ public class WekaModelService {
 
         // Create the data structure
         dataStructure = createDataStructure();
+        algorithm = ModelAlgorithm.fromKey(algorithmKey);
+        explanationCache = new ExplanationCache(explainCacheSize);
+        log.info("🧠 Algorithm: {}", algorithm.getKey());
 
         // Load the model file if it exists, otherwise train a new one
-        File modelFile = new File(MODEL_PATH);
+        File modelFile = new File(modelPath());
         if (modelFile.exists()) {
             loadModel();
         } else {
@@ -59,22 +113,12 @@ public class WekaModelService {
         ArrayList<Attribute> attributes = new ArrayList<>();
 
         // Technical indicators
-        attributes.add(new Attribute("rsi"));
-        attributes.add(new Attribute("macd"));
-        attributes.add(new Attribute("macd_signal"));
-        attributes.add(new Attribute("ema_fast"));
-        attributes.add(new Attribute("ema_slow"));
-        attributes.add(new Attribute("bb_upper"));
-        attributes.add(new Attribute("bb_lower"));
-        attributes.add(new Attribute("atr"));
-        attributes.add(new Attribute("volume"));
-
-        // Class (target variable)
-        ArrayList<String> classValues = new ArrayList<>();
-        classValues.add("BUY");
-        classValues.add("SELL");
-        classValues.add("HOLD");
-        attributes.add(new Attribute("signal", classValues));
+        for (String name : SignalFeatures.FEATURE_NAMES) {
+            attributes.add(new Attribute(name));
+        }
+
+        // Class (target variable): BUY, SELL, HOLD
+        attributes.add(new Attribute("signal", new ArrayList<>(SignalFeatures.CLASS_VALUES)));
 
         Instances structure = new Instances("ForexData", attributes, 0);
         structure.setClassIndex(structure.numAttributes() - 1);
@@ -87,12 +131,75 @@ public class WekaModelService {
      * (In a real project, historical data would be used here)
      */
     public void trainWithSampleData() {
-        log.info("📈 Training model with sample data...");
+        log.info("📈 Training model with sample data ({})...", algorithm.getKey());
+
+        try {
+            SignalClassifier trained = trainClassifier(algorithm, sampleTrainingSet());
+            setModel(trained, System.currentTimeMillis());
+
+            // Save the model
+            saveModel(trained);
+
+            log.info("✅ Model trained successfully!");
+
+        } catch (Exception e) {
+            log.error("❌ Error during model training: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Train a classifier with the given algorithm without replacing the live model.
+     */
+    public SignalClassifier trainClassifier(ModelAlgorithm algorithm, TrainingSet data) throws Exception {
+        return switch (algorithm) {
+            case RANDOM_FOREST -> trainRandomForest(data);
+            case HISTOGRAM_GBDT -> trainHistogramGbdt(data);
+        };
+    }
+
+    private SignalClassifier trainRandomForest(TrainingSet data) throws Exception {
+        Instances trainingData = toInstances(data);
+
+        // Train a Random Forest model
+        RandomForest rf = new RandomForest();
+        rf.setNumIterations(100);
+        rf.setMaxDepth(8);
+        rf.setSeed(42);
 
-        Instances trainingData = new Instances(dataStructure);
+        rf.buildClassifier(trainingData);
+
+        // Evaluate model accuracy
+        evaluateModel(rf, trainingData);
+
+        return new WekaForestClassifier(rf, dataStructure);
+    }
+
+    private SignalClassifier trainHistogramGbdt(TrainingSet data) {
+        HistogramGbdtTrainer trainer = new HistogramGbdtTrainer();
+        trainer.setNumRounds(100);
+        trainer.setMaxDepth(6);
+        trainer.setLearningRate(0.1);
+
+        SignalClassifier gbdt = trainer.train(data);
+
+        // Training accuracy (Weka cross-validation only applies to Weka classifiers)
+        int correct = 0;
+        for (int i = 0; i < data.size(); i++) {
+            if (SignalFeatures.maxIndex(gbdt.distributionForFeatures(data.features()[i])) == data.labels()[i]) {
+                correct++;
+            }
+        }
+        log.info("📊 === Model Evaluation ===");
+        log.info("✅ Training accuracy: {}", String.format("%.2f%%", 100.0 * correct / data.size()));
 
-        // Create sample training data
-        // In a real project, this would come from historical Forex data
+        return gbdt;
+    }
+
+    /**
+     * Sample training data.
+     * In a real project, this would come from historical Forex data.
+     */
+    public static TrainingSet sampleTrainingSet() {
         double[][] samples = {
             // rsi,    macd,    sig,    emaF,    emaS,    bbU,     bbL,    atr,   vol,  signal
             // BUY samples (RSI low, price expected to rise)
@@ -132,38 +239,30 @@ public class WekaModelService {
             "HOLD","HOLD","HOLD","HOLD","HOLD","HOLD","HOLD","HOLD"
         };
 
-        // Add instances
-        for (int i = 0; i < samples.length; i++) {
-            double[] vals = new double[10];
-            System.arraycopy(samples[i], 0, vals, 0, 9);
-            vals[9] = dataStructure.classAttribute().indexOfValue(labels[i]);
-
-            Instance instance = new DenseInstance(1.0, vals);
-            instance.setDataset(trainingData);
-            trainingData.add(instance);
+        int[] classes = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            classes[i] = SignalFeatures.CLASS_VALUES.indexOf(labels[i]);
         }
+        return new TrainingSet(samples, classes);
+    }
 
-        // Train a Random Forest model
-        try {
-            RandomForest rf = new RandomForest();
-            rf.setNumIterations(100);
-            rf.setMaxDepth(8);
-            rf.setSeed(42);
-
-            rf.buildClassifier(trainingData);
-            this.model = rf;
-
-            // Evaluate model accuracy
-            evaluateModel(rf, trainingData);
-
-            // Save the model
-            saveModel(rf);
+    /**
+     * Convert a training set into Weka instances.
+     */
+    private Instances toInstances(TrainingSet data) {
+        Instances instances = new Instances(dataStructure, data.size());
+        int numFeatures = SignalFeatures.NUM_FEATURES;
 
-            log.info("✅ Model trained successfully!");
+        for (int i = 0; i < data.size(); i++) {
+            double[] vals = new double[numFeatures + 1];
+            System.arraycopy(data.features()[i], 0, vals, 0, numFeatures);
+            vals[numFeatures] = data.labels()[i];
 
-        } catch (Exception e) {
-            log.error("❌ Error during model training: {}", e.getMessage());
+            Instance instance = new DenseInstance(1.0, vals);
+            instance.setDataset(instances);
+            instances.add(instance);
         }
+        return instances;
     }
 
     /**
@@ -187,49 +286,62 @@ public class WekaModelService {
      * Make a prediction — the main method.
      */
     public PredictionResult predict(ForexData data) {
-        if (model == null) {
+        return predict(instrumentRegistry.find(data.getPair()), data, PredictionEvent.Source.REQUEST, false);
+    }
+
+    /**
+     * Prediction with optional TreeSHAP feature attributions.
+     */
+    public PredictionResult predict(ForexData data, boolean explain) {
+        return predict(instrumentRegistry.find(data.getPair()), data, PredictionEvent.Source.REQUEST, explain);
+    }
+
+    /**
+     * Prediction for a pair the caller has already resolved (bar closes, simulation),
+     * so the symbol is not looked up again. {@code source} tells listeners whether the
+     * input is market data.
+     */
+    public PredictionResult predict(Instrument instrument, ForexData data,
+                                    PredictionEvent.Source source, boolean explain) {
+        LiveModel current = live;
+        if (current == null) {
             log.error("Model not loaded!");
             return buildErrorResult(data.getPair());
         }
 
+        PredictionResult result;
+        long inferenceNanos;
         try {
-            // Create an instance
-            double[] vals = new double[10];
-            vals[0] = data.getRsi();
-            vals[1] = data.getMacd();
-            vals[2] = data.getMacdSignal();
-            vals[3] = data.getEmaFast();
-            vals[4] = data.getEmaSlow();
-            vals[5] = data.getBbUpper();
-            vals[6] = data.getBbLower();
-            vals[7] = data.getAtr();
-            vals[8] = data.getVolume();
-            vals[9] = Utils.missingValue(); // signal is unknown
-
-            Instance instance = new DenseInstance(1.0, vals);
-            instance.setDataset(dataStructure);
-
             // Get prediction
-            double predicted = model.classifyInstance(instance);
-            double[] probs = model.distributionForInstance(instance);
+            double[] features = SignalFeatures.toFeatures(data);
+            long start = System.nanoTime();
+            double[] probs = current.classifier().distributionForFeatures(features);
+            inferenceNanos = System.nanoTime() - start;
+            int predicted = SignalFeatures.maxIndex(probs);
 
-            String signal = dataStructure.classAttribute().value((int) predicted);
-            double confidence = probs[(int) predicted] * 100;
+            String signal = SignalFeatures.CLASS_VALUES.get(predicted);
+            double confidence = probs[predicted] * 100;
 
-            // Determine the risk level
-            String riskLevel = calculateRiskLevel(data);
+            // Determine the risk level: the pair on its own, then against the open positions
+            String riskLevel = higherRisk(calculateRiskLevel(instrument, data),
+                    correlationRiskService.riskLevel(instrument, signal));
 
             // Should we trade?
             boolean shouldTrade = confidence >= (MIN_CONFIDENCE * 100)
                     && !signal.equals("HOLD")
                     && !riskLevel.equals("HIGH");
 
-            String reason = buildReason(signal, data, confidence);
+            Explanation explanation = explain ? explain(current, features, predicted) : null;
+            String reason = explanation != null
+                    ? buildReason(explanation, confidence)
+                    : buildReason(signal, data, confidence);
 
-            log.info("🔮 Prediction: {} | Confidence: {:.1f}% | Pair: {}",
-                    signal, confidence, data.getPair());
+            if (source != PredictionEvent.Source.SYNTHETIC) {
+                log.info("🔮 Prediction: {} | Confidence: {:.1f}% | Pair: {}",
+                        signal, confidence, data.getPair());
+            }
 
-            return PredictionResult.builder()
+            result = PredictionResult.builder()
                     .signal(signal)
                     .buyProbability(Math.round(probs[0] * 10000.0) / 100.0)
                     .sellProbability(Math.round(probs[1] * 10000.0) / 100.0)
@@ -238,7 +350,9 @@ public class WekaModelService {
                     .shouldTrade(shouldTrade)
                     .reason(reason)
                     .pair(data.getPair())
+                    .timeframe(data.getTimeframe())
                     .riskLevel(riskLevel)
+                    .explanation(explanation)
                     .timestamp(LocalDateTime.now()
                             .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
                     .build();
@@ -247,25 +361,36 @@ public class WekaModelService {
             log.error("Error during prediction: {}", e.getMessage());
             return buildErrorResult(data.getPair());
         }
+
+        // Let listeners (paper trading, journal, ...) act on the signal.
+        // Outside the try: a failing listener must not turn a valid prediction into an error.
+        eventPublisher.publishEvent(new PredictionEvent(data, result,
+                instrument, source, current.version(), inferenceNanos));
+        return result;
     }
 
     /**
      * Calculate the risk level.
      */
-    private String calculateRiskLevel(ForexData data) {
+    private String calculateRiskLevel(Instrument instrument, ForexData data) {
         double rsi = data.getRsi();
-        double atr = data.getAtr();
+        // ATR in pips of the pair; bodies of unconfigured pairs are taken as 4-decimal quotes
+        double atrPips = data.getAtr() / (instrument == null ? DEFAULT_PIP_SIZE : instrument.getPipSize());
 
         // Extreme zone: RSI < 20 or > 80
         if (rsi < 20 || rsi > 80) return "HIGH";
 
         // If ATR is high, volatility is high
-        if (atr > 0.0040) return "HIGH";
-        if (atr > 0.0025) return "MEDIUM";
+        if (atrPips > 40) return "HIGH";
+        if (atrPips > 25) return "MEDIUM";
 
         return "LOW";
     }
 
+    private static String higherRisk(String a, String b) {
+        return RISK_LEVELS.indexOf(a) >= RISK_LEVELS.indexOf(b) ? a : b;
+    }
+
     /**
      * Write an explanation for the signal.
      */
@@ -297,14 +422,209 @@ public class WekaModelService {
         return sb.toString();
     }
 
+    /**
+     * TreeSHAP attributions for the predicted class, or null if the model cannot be explained.
+     * Probability-space attributions are reported in percentage points, like the confidence.
+     */
+    private Explanation explain(LiveModel model, double[] features, int predicted) {
+        TreeShapExplainer explainer = model.explainer().get();
+        if (explainer == null) return null;
+
+        double[][] shap = explanationCache.get(model.id(), features, () -> explainer.shapValues(features));
+        boolean probability = TreeShapExplainer.PROBABILITY.equals(explainer.getSpace());
+        double unit = probability ? 100.0 : 1.0;
+
+        Integer[] order = new Integer[features.length];
+        for (int f = 0; f < order.length; f++) order[f] = f;
+        Arrays.sort(order, Comparator.comparingDouble(f -> -Math.abs(shap[predicted][f])));
+
+        Map<String, Double> contributions = new LinkedHashMap<>();
+        for (int f : order) {
+            contributions.put(SignalFeatures.FEATURE_NAMES.get(f),
+                    Math.round(shap[predicted][f] * unit * 10000.0) / 10000.0);
+        }
+
+        return Explanation.builder()
+                .signal(SignalFeatures.CLASS_VALUES.get(predicted))
+                .space(explainer.getSpace())
+                .baseValue(Math.round(explainer.getBaseValue()[predicted] * unit * 10000.0) / 10000.0)
+                .contributions(contributions)
+                .build();
+    }
+
+    /**
+     * Explanation from the three strongest attributions.
+     */
+    private String buildReason(Explanation explanation, double confidence) {
+        StringBuilder sb = new StringBuilder(explanation.getSignal()).append(" driven by ");
+        int n = 0;
+        for (Map.Entry<String, Double> entry : explanation.getContributions().entrySet()) {
+            if (n++ == 3) break;
+            if (n > 1) sb.append(", ");
+            sb.append(entry.getKey()).append(String.format(" (%+.2f)", entry.getValue()));
+        }
+        sb.append(String.format(" | Confidence: %.1f%%", confidence));
+        return sb.toString();
+    }
+
+    /**
+     * Currently active algorithm.
+     */
+    public ModelAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Version of the live model: algorithm plus training (or file) time, e.g. "random-forest-20240115143022".
+     */
+    public String getModelVersion() {
+        LiveModel current = live;
+        return current == null ? null : current.version();
+    }
+
+    private void setModel(SignalClassifier classifier, long epochMillis) {
+        SignalClassifier served = classifier;
+        QuantizationReport report = null;
+        if (quantized) {
+            if (classifier instanceof WekaForestClassifier) {
+                served = quantize(classifier);
+                report = QuantizationReport.compare(classifier, served, validationRows());
+                log.info("🗜️ Quantized forest: {} bytes -> {} bytes, {}% signal agreement, max probability error {}",
+                        report.fullSerializedBytes(), report.quantizedSerializedBytes(),
+                        String.format("%.2f", report.signalAgreement()),
+                        String.format("%.4f", report.maxProbabilityError()));
+            } else {
+                log.warn("Only random-forest models can be quantized, serving {} at full precision",
+                        classifier.getName());
+            }
+        }
+        String version = served.getName() + "-" + DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
+                .format(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+        this.live = new LiveModel(modelIds.incrementAndGet(), served, version, new LazyExplainer(served), report);
+    }
+
+    /**
+     * Quantized copy of a RandomForest classifier.
+     */
+    public SignalClassifier quantize(SignalClassifier classifier) {
+        if (!(classifier instanceof WekaForestClassifier forest)) {
+            throw new IllegalArgumentException("Only random-forest models can be quantized, not " + classifier.getName());
+        }
+        return QuantizedForest.fromWekaForest(forest);
+    }
+
+    /**
+     * Divergence of the quantized forest from full precision. For a quantized live model this
+     * is the report made when it was loaded; for a full-precision forest it is computed on the
+     * first request against a quantized copy and kept until the model changes. Null for other models.
+     */
+    public QuantizationReport getQuantizationReport() {
+        LiveModel current = live;
+        if (current == null) return null;
+        if (current.quantization() != null) return current.quantization();
+        if (!(current.classifier() instanceof WekaForestClassifier)) return null;
+        synchronized (quantizationLock) {
+            CachedReport cached = quantizationReport;
+            if (cached == null || cached.modelId() != current.id()) {
+                cached = new CachedReport(current.id(), QuantizationReport.compare(
+                        current.classifier(), quantize(current.classifier()), validationRows()));
+                quantizationReport = cached;
+            }
+            return cached.report();
+        }
+    }
+
+    /**
+     * The sample training rows plus jittered copies (5% of each feature's spread), so the
+     * comparison also covers inputs between the training points.
+     */
+    private static double[][] validationRows() {
+        double[][] samples = sampleTrainingSet().features();
+        int numFeatures = SignalFeatures.NUM_FEATURES;
+        double[] spread = new double[numFeatures];
+        for (int f = 0; f < numFeatures; f++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double[] row : samples) {
+                min = Math.min(min, row[f]);
+                max = Math.max(max, row[f]);
+            }
+            spread[f] = max - min;
+        }
+
+        Random random = new Random(42);
+        double[][] rows = new double[samples.length * (VALIDATION_JITTER + 1)][];
+        int n = 0;
+        for (double[] sample : samples) {
+            rows[n++] = sample;
+            for (int j = 0; j < VALIDATION_JITTER; j++) {
+                double[] row = sample.clone();
+                for (int f = 0; f < numFeatures; f++) row[f] += random.nextGaussian() * 0.05 * spread[f];
+                rows[n++] = row;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The id is unique per loaded model; the version string only has second resolution.
+     */
+    private record LiveModel(long id, SignalClassifier classifier, String version, LazyExplainer explainer,
+                             QuantizationReport quantization) {
+    }
+
+    /**
+     * TreeSHAP explainer of a model, built on the first explanation request and kept with it.
+     * The explainer holds full-precision copies of every tree, several times the size of a
+     * quantized forest, so models that are never asked for explanations never pay for it.
+     */
+    private static final class LazyExplainer {
+
+        private final SignalClassifier classifier;
+        private TreeShapExplainer explainer;
+        private volatile boolean built;
+
+        LazyExplainer(SignalClassifier classifier) {
+            this.classifier = classifier;
+        }
+
+        /**
+         * The explainer, or null if the model cannot be explained.
+         */
+        TreeShapExplainer get() {
+            if (!built) {
+                synchronized (this) {
+                    if (!built) {
+                        try {
+                            explainer = TreeShapExplainer.forClassifier(classifier);
+                        } catch (RuntimeException e) {
+                            log.warn("Model cannot be explained: {}", e.getMessage());
+                        }
+                        built = true;
+                    }
+                }
+            }
+            return explainer;
+        }
+    }
+
+    private record CachedReport(long modelId, QuantizationReport report) {
+    }
+
+    private String modelPath() {
+        return algorithm == ModelAlgorithm.RANDOM_FOREST ? MODEL_PATH : GBDT_MODEL_PATH;
+    }
+
     /**
      * Save the model to a file.
+     * Weka models are written as the raw Weka classifier, so existing model files stay compatible.
      */
-    private void saveModel(Classifier clf) {
+    private void saveModel(SignalClassifier clf) {
         try {
             new File("models").mkdirs();
-            SerializationHelper.write(MODEL_PATH, clf);
-            log.info("💾 Model saved: {}", MODEL_PATH);
+            Object toWrite = clf instanceof WekaForestClassifier weka ? weka.getClassifier() : clf;
+            SerializationHelper.write(modelPath(), toWrite);
+            log.info("💾 Model saved: {}", modelPath());
         } catch (Exception e) {
             log.error("Error while saving model: {}", e.getMessage());
         }
@@ -315,8 +635,14 @@ public class WekaModelService {
      */
     private void loadModel() {
         try {
-            model = (Classifier) SerializationHelper.read(MODEL_PATH);
-            log.info("✅ Model loaded: {}", MODEL_PATH);
+            Object stored = SerializationHelper.read(modelPath());
+            long modified = new File(modelPath()).lastModified();
+            if (stored instanceof Classifier clf) {
+                setModel(new WekaForestClassifier(clf, dataStructure), modified);
+            } else {
+                setModel((SignalClassifier) stored, modified);
+            }
+            log.info("✅ Model loaded: {}", modelPath());
         } catch (Exception e) {
             log.warn("Model could not be loaded, retraining...");
             trainWithSampleData();
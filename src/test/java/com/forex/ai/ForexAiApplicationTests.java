@@ -1,29 +1,72 @@
 package com.forex.ai;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forex.ai.controller.MarketDataController;
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.indicator.StreamingIndicators;
 import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
 import com.forex.ai.model.PredictionResult;
+import com.forex.ai.model.SignalSnapshot;
+import com.forex.ai.model.Tick;
+import com.forex.ai.model.Timeframe;
+import com.forex.ai.service.BarAggregationService;
+import com.forex.ai.service.DriftMonitorService;
 import com.forex.ai.service.ForexDataService;
+import com.forex.ai.service.InstrumentRegistry;
+import com.forex.ai.service.SignalEngineService;
+import com.forex.ai.service.WarmupService;
 import com.forex.ai.service.WekaModelService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Forex AI Bot - Unit Testlər
  */
-@SpringBootTest
+@SpringBootTest(properties = "forex.journal.directory=target/test-journal")
 class ForexAiApplicationTests {
 
+    private static final String FAILING_PAIR = "FAILUSD";
+    private static final long MINUTE = 60_000;
+
     @Autowired
     private WekaModelService wekaModelService;
 
     @Autowired
     private ForexDataService forexDataService;
 
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private SignalEngineService signalEngineService;
+
+    @Autowired
+    private InstrumentRegistry instrumentRegistry;
+
+    @Autowired
+    private BarAggregationService barAggregationService;
+
+    @Autowired
+    private MarketDataController marketDataController;
+
+    @Autowired
+    private DriftMonitorService driftMonitorService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // =========================================
     // MODEL TƏMİNATLARI
     // =========================================
@@ -173,4 +216,169 @@ class ForexAiApplicationTests {
                 + " (" + result.getConfidence() + "%)");
         }
     }
+
+    @Test
+    @DisplayName("Mənfi bar limiti 400 qaytarmalıdır")
+    void negativeBarLimitShouldBeBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, marketDataController.bars("EURUSD", "1m", -1).getStatusCode());
+        assertEquals(HttpStatus.OK, marketDataController.bars("EURUSD", "1m", 0).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Taymfreym JSON-da URL açarı ilə göstərilməlidir")
+    void timeframeShouldSerializeAsPathKey() throws Exception {
+        assertEquals("\"5m\"", objectMapper.writeValueAsString(Timeframe.M5));
+        assertEquals(Timeframe.H1, objectMapper.readValue("\"1h\"", Timeframe.class));
+        assertEquals(Timeframe.H1, objectMapper.readValue("\"H1\"", Timeframe.class));
+    }
+
+    @Test
+    @DisplayName("Simulyasiya sapmaları cütün pip ölçüsünə uyğun olmalıdır")
+    void simulatedOffsetsShouldScaleWithPipSize() {
+        for (int i = 0; i < 50; i++) {
+            ForexData jpy = forexDataService.generateSimulatedData("USDJPY");
+            // 10-40 pips of 0.01
+            assertTrue(jpy.getAtr() >= 0.10 && jpy.getAtr() <= 0.40, "ATR " + jpy.getAtr());
+            assertEquals(149.50, jpy.getClose(), 0.60);
+        }
+
+        ForexData neutral = forexDataService.generateNeutralData("USDJPY");
+        assertEquals(149.52, neutral.getClose(), 1e-9);
+        assertNotEquals("HIGH", wekaModelService.predict(neutral).getRiskLevel(),
+            "15 pip ATR JPY cütündə də normal volatillikdir");
+    }
+
+    // =========================================
+    // İZAH TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("SHAP atributları + baza dəyəri güvən səviyyəsinə bərabər olmalıdır")
+    void explanationShouldAddUpToConfidence() {
+        ForexData data = forexDataService.generateOversoldData("EURUSD");
+        PredictionResult result = wekaModelService.predict(data, true);
+
+        assertNotNull(result.getExplanation(), "İzah olmalıdır");
+        assertEquals(result.getSignal(), result.getExplanation().getSignal());
+        assertEquals(9, result.getExplanation().getContributions().size());
+
+        double total = result.getExplanation().getBaseValue();
+        for (double contribution : result.getExplanation().getContributions().values()) total += contribution;
+        assertEquals(result.getConfidence(), total, 0.01);
+
+        assertNull(wekaModelService.predict(data).getExplanation(), "İzah yalnız istəklə qaytarılmalıdır");
+    }
+
+    @Test
+    @DisplayName("Dinləyici xətası proqnozu xətaya çevirməməlidir")
+    void failingListenerShouldNotFailPrediction() {
+        ForexData data = forexDataService.generateOversoldData("EURUSD");
+        data.setPair(FAILING_PAIR);
+        PredictionResult result = wekaModelService.predict(data);
+
+        assertTrue(result.getConfidence() > 0, "Etibarlı proqnoz qaytarılmalıdır");
+        assertNotEquals("Model error - do not trade!", result.getReason());
+    }
+
+    @Test
+    @DisplayName("Simulyasiya girişləri drift statistikasına düşməməlidir")
+    void simulatedInputShouldNotCountAsDrift() {
+        Instrument instrument = instrumentRegistry.find("AUDUSD");
+        long before = driftObservations("AUDUSD");
+
+        wekaModelService.predict(instrument, forexDataService.generateSimulatedData(instrument),
+                PredictionEvent.Source.SIMULATED, false);
+        assertEquals(before, driftObservations("AUDUSD"), "Simulyasiya canlı giriş deyil");
+
+        wekaModelService.predict(instrument, forexDataService.generateSimulatedData(instrument),
+                PredictionEvent.Source.REQUEST, false);
+        assertEquals(before + 1, driftObservations("AUDUSD"));
+    }
+
+    private long driftObservations(String pair) {
+        Map<String, Object> report = driftMonitorService.getReport(pair);
+        return report == null ? 0 : (Long) report.get("observations");
+    }
+
+    @TestConfiguration
+    static class FailingListenerConfig {
+
+        @EventListener
+        public void onPrediction(PredictionEvent event) {
+            if (FAILING_PAIR.equals(event.getData().getPair())) throw new IllegalStateException("listener failure");
+        }
+    }
+
+    // =========================================
+    // SİQNAL SNAPSHOT TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("Bar bağlanışında bütün cütlər yeni snapshot-da dərc olunmalıdır")
+    void barCloseShouldPublishSnapshotForAllPairs() {
+        long start = Timeframe.M1.barOpenTime(System.currentTimeMillis()) - 60 * MINUTE;
+        int minutes = StreamingIndicators.WARMUP_BARS + 5;
+        for (Instrument instrument : instrumentRegistry.all()) {
+            for (int m = 0; m <= minutes; m++) {
+                double price = instrument.getBasePrice() * (1 + Math.sin(m) * 0.001);
+                barAggregationService.onTick(new Tick(instrument.getSymbol(), price, 1, start + m * MINUTE));
+            }
+        }
+
+        SignalSnapshot snapshot = signalEngineService.getSnapshot();
+        long lastBar = start + (minutes - 1) * MINUTE;
+        assertEquals(lastBar, snapshot.getBarOpenTime());
+        assertEquals(instrumentRegistry.size(), snapshot.getSignals().size());
+        Map<String, Object> jpy = snapshot.get(instrumentRegistry.find("USDJPY"));
+        assertEquals("USDJPY", jpy.get("pair"));
+        assertEquals(lastBar, jpy.get("barOpenTime"), "Siqnal bağlanan barın vaxtı ilə işarələnməlidir");
+        assertFalse((Boolean) signalEngineService.describe(snapshot).get("stale"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getSignals().clear());
+    }
+
+    @Test
+    @DisplayName("Lenti dayanan cüt digərləri yenilənsə də köhnəlmiş sayılmalıdır")
+    void stoppedPairShouldBeStaleWhileOthersTick() {
+        long now = System.currentTimeMillis();
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] empty = new Map[instrumentRegistry.size()];
+        SignalSnapshot snapshot = new SignalSnapshot(0, empty, new long[empty.length]);
+        Instrument eurusd = instrumentRegistry.find("EURUSD");
+        snapshot = snapshot.with(eurusd, Map.of("pair", "EURUSD"), 0, now - 10 * MINUTE);
+        for (Instrument instrument : instrumentRegistry.all()) {
+            if (instrument != eurusd) snapshot = snapshot.with(instrument, Map.of("pair", instrument.getSymbol()), 0, now);
+        }
+
+        Map<String, Object> meta = signalEngineService.describe(snapshot);
+        assertTrue((Boolean) meta.get("stale"), "Bir cüt köhnəlibsə snapshot köhnəlmiş sayılmalıdır");
+        assertEquals(List.of("EURUSD"), meta.get("stalePairs"));
+        assertTrue(snapshot.ageMillis(now) >= 10 * MINUTE, "Yaş ən köhnə cütə görə olmalıdır");
+        assertEquals(true, signalEngineService.describeSignal(snapshot, eurusd).get("stale"));
+        assertEquals(false, signalEngineService.describeSignal(snapshot, instrumentRegistry.find("USDJPY")).get("stale"));
+    }
+
+    // =========================================
+    // HAZIRLIQ TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("JIT isinməsindən sonra servis hazır olmalıdır")
+    void shouldBecomeReadyAfterWarmup() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!warmupService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(warmupService.isReady(), "İsinmə büdcə daxilində bitməlidir");
+        assertEquals("READY", warmupService.getStatus().get("status"));
+    }
+
+    @Test
+    @DisplayName("Yalnız prosesin tokeni sorğunu sintetik etməlidir")
+    void onlyTheProcessTokenShouldMarkSynthetic() {
+        assertTrue(warmupService.isSyntheticToken(warmupService.getSyntheticToken()));
+        assertFalse(warmupService.isSyntheticToken("true"));
+        assertFalse(warmupService.isSyntheticToken(""));
+        assertFalse(warmupService.isSyntheticToken(null));
+    }
 }
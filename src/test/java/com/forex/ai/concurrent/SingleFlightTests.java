@@ -0,0 +1,103 @@
+package com.forex.ai.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sorğu birləşdirmə - Unit Testlər
+ */
+class SingleFlightTests {
+
+    @Test
+    @DisplayName("Eyni açarlı paralel sorğular bir hesablamanı paylaşmalıdır")
+    void concurrentCallsShouldShareComputation() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flights.execute("EURUSD", () -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            // Wait until the followers are parked on the leader's future
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flights.getShared() < 7 && System.nanoTime() < deadline) Thread.sleep(5);
+            release.countDown();
+
+            for (Future<Integer> result : results) assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, computations.get());
+            assertEquals(7, flights.getShared());
+            assertEquals(0, flights.getInFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Bitmiş hesablama keşlənməməli, xəta yenidən atılmalıdır")
+    void completedCallsShouldNotBeCached() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+
+        flights.execute("EURUSD", computations::incrementAndGet);
+        flights.execute("EURUSD", computations::incrementAndGet);
+        assertEquals(2, computations.get());
+
+        assertThrows(IllegalStateException.class,
+                () -> flights.execute("EURUSD", () -> { throw new IllegalStateException("boom"); }));
+        assertEquals(0, flights.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Gözləyən sorğu vaxt limitindən sonra imtina etməli, hesablama davam etməlidir")
+    void followerShouldGiveUpAfterMaxWait() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = pool.submit(() -> flights.execute("EURUSD", () -> {
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            assertThrows(IllegalStateException.class, () -> flights.execute("EURUSD", () -> 0,
+                    Duration.ofMillis(50), () -> new IllegalStateException("overloaded")));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(1, flights.getTimedOut());
+
+            release.countDown();
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.forex.ai.indicator;
+
+import com.forex.ai.ml.SignalFeatures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bulk Indicators - Unit Testlər
+ */
+class BulkIndicatorsTests {
+
+    // =========================================
+    // STREAMING UYĞUNLUĞU
+    // =========================================
+
+    @Test
+    @DisplayName("Bulk nəticələr streaming göstəricilərlə eyni olmalıdır")
+    void shouldMatchStreamingIndicators() {
+        PriceColumns prices = randomWalk("EURUSD", 5_000, 1.0850, new Random(3));
+        IndicatorColumns bulk = BulkIndicators.compute(prices);
+
+        StreamingIndicators streaming = new StreamingIndicators();
+        for (int i = 0; i < prices.size(); i++) {
+            streaming.update(prices.high()[i], prices.low()[i], prices.close()[i]);
+            String at = "Bar " + i;
+            // Recursions use the same formulas in the same order: exact
+            assertEquals(streaming.getRsi(), bulk.rsi()[i], 0.0, at);
+            assertEquals(streaming.getMacd(), bulk.macd()[i], 0.0, at);
+            assertEquals(streaming.getMacdSignal(), bulk.macdSignal()[i], 0.0, at);
+            assertEquals(streaming.getEmaFast(), bulk.emaFast()[i], 0.0, at);
+            assertEquals(streaming.getEmaSlow(), bulk.emaSlow()[i], 0.0, at);
+            assertEquals(streaming.getAtr(), bulk.atr()[i], 0.0, at);
+            // Window sums in a different order: rounding only
+            assertEquals(streaming.getBbUpper(), bulk.bbUpper()[i], 1e-12, at);
+            assertEquals(streaming.getBbLower(), bulk.bbLower()[i], 1e-12, at);
+        }
+    }
+
+    @Test
+    @DisplayName("Vector API nüvələri skalyar nüvələrlə bit-bit eyni olmalıdır")
+    void vectorKernelsShouldMatchScalarBitForBit() {
+        IndicatorKernels vector = BulkIndicators.vectorKernelsOrNull();
+        assumeTrue(vector != null, "jdk.incubator.vector modulu yoxdur");
+
+        Random random = new Random(5);
+        // Lengths around the lane count and the Bollinger period, plus a long odd one
+        for (int n : new int[]{0, 1, 3, 7, 19, 20, 21, 33, 1_003}) {
+            PriceColumns prices = randomWalk("GBPUSD", n, 1.2650, random);
+            IndicatorColumns expected = BulkIndicators.compute(prices, ScalarKernels.INSTANCE);
+            IndicatorColumns actual = BulkIndicators.compute(prices, vector);
+            assertArrayEquals(expected.bbUpper(), actual.bbUpper(), "BB upper, n=" + n);
+            assertArrayEquals(expected.bbLower(), actual.bbLower(), "BB lower, n=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Paralel hesablama sıranı saxlamalı, xüsusiyyət sətirləri isti bardan başlamalıdır")
+    void computeAllShouldKeepOrderAndBuildFeatureRows() {
+        Random random = new Random(9);
+        List<PriceColumns> pairs = List.of(
+                randomWalk("EURUSD", 800, 1.0850, random),
+                randomWalk("USDJPY", 600, 149.50, random),
+                randomWalk("AUDUSD", 700, 0.6550, random));
+
+        List<IndicatorColumns> all = BulkIndicators.computeAll(pairs);
+        for (int p = 0; p < pairs.size(); p++) {
+            assertEquals(pairs.get(p).pair(), all.get(p).pair());
+            assertArrayEquals(BulkIndicators.compute(pairs.get(p)).rsi(), all.get(p).rsi());
+        }
+
+        PriceColumns eurusd = pairs.get(0);
+        double[][] rows = SignalFeatures.toFeatures(all.get(0), eurusd.volume());
+        assertEquals(eurusd.size() - IndicatorColumns.firstWarmBar(), rows.length);
+        assertEquals(SignalFeatures.NUM_FEATURES, rows[0].length);
+
+        StreamingIndicators streaming = new StreamingIndicators();
+        for (int i = 0; i <= IndicatorColumns.firstWarmBar(); i++) {
+            streaming.update(eurusd.high()[i], eurusd.low()[i], eurusd.close()[i]);
+        }
+        assertTrue(streaming.isWarm(), "Birinci sətir isti bara aid olmalıdır");
+        assertEquals(streaming.getRsi(), rows[0][0], 0.0);
+        assertEquals(eurusd.volume()[IndicatorColumns.firstWarmBar()], rows[0][8], 0.0);
+    }
+
+    static PriceColumns randomWalk(String pair, int n, double start, Random random) {
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        double[] volume = new double[n];
+        double price = start;
+        for (int i = 0; i < n; i++) {
+            price *= 1 + random.nextGaussian() * 0.0005;
+            double range = Math.abs(random.nextGaussian()) * start * 0.0004;
+            close[i] = price;
+            high[i] = price + range * random.nextDouble();
+            low[i] = price - range * random.nextDouble();
+            volume[i] = 5_000 + random.nextInt(20_000);
+        }
+        return new PriceColumns(pair, high, low, close, volume);
+    }
+}
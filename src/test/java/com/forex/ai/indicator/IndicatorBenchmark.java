@@ -0,0 +1,92 @@
+package com.forex.ai.indicator;
+
+import com.forex.ai.ml.SignalFeatures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Streaming vs bulk (scalar / Vector API) indicator benchmark.
+ *
+ * Disabled by default, run with:
+ *   mvn test -Dtest=IndicatorBenchmark -Dbenchmark=true [-Dbenchmark.bars=2000000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IndicatorBenchmark {
+
+    private static final String[] PAIRS = {"EURUSD", "GBPUSD", "USDJPY", "AUDUSD", "USDCHF"};
+
+    @Test
+    @DisplayName("Streaming vs bulk göstəricilər: bar/s")
+    void compareImplementations() {
+        int bars = Integer.getInteger("benchmark.bars", 2_000_000);
+        Random random = new Random(1);
+        List<PriceColumns> pairs = new ArrayList<>();
+        for (String pair : PAIRS) pairs.add(BulkIndicatorsTests.randomWalk(pair, bars, 1.0, random));
+        long total = (long) bars * PAIRS.length;
+
+        // Warm-up round for the JIT
+        for (int round = 0; round < 3; round++) {
+            streaming(pairs.get(0));
+            BulkIndicators.compute(pairs.get(0), ScalarKernels.INSTANCE);
+            BulkIndicators.computeAll(pairs);
+        }
+
+        System.out.printf("%n=== Indicator benchmark: %d pairs x %d bars, %d cores, kernels=%s ===%n",
+                PAIRS.length, bars, Runtime.getRuntime().availableProcessors(), BulkIndicators.implementation());
+        System.out.printf("%-28s %10s %14s%n", "Implementation", "ms", "Mbars/s");
+
+        long start = System.nanoTime();
+        for (PriceColumns pair : pairs) streaming(pair);
+        report("streaming", start, total);
+
+        start = System.nanoTime();
+        for (PriceColumns pair : pairs) BulkIndicators.compute(pair, ScalarKernels.INSTANCE);
+        report("bulk scalar", start, total);
+
+        start = System.nanoTime();
+        for (PriceColumns pair : pairs) BulkIndicators.compute(pair);
+        report("bulk " + BulkIndicators.implementation(), start, total);
+
+        start = System.nanoTime();
+        List<IndicatorColumns> all = BulkIndicators.computeAll(pairs);
+        report("bulk parallel pairs", start, total);
+
+        start = System.nanoTime();
+        long rows = 0;
+        for (int p = 0; p < pairs.size(); p++) {
+            rows += SignalFeatures.toFeatures(all.get(p), pairs.get(p).volume()).length;
+        }
+        report("feature rows (" + rows + ")", start, total);
+    }
+
+    /**
+     * Streaming baseline, keeping every value as a training set builder would.
+     */
+    private static double[][] streaming(PriceColumns prices) {
+        int n = prices.size();
+        double[][] out = new double[8][n];
+        StreamingIndicators indicators = new StreamingIndicators();
+        for (int i = 0; i < n; i++) {
+            indicators.update(prices.high()[i], prices.low()[i], prices.close()[i]);
+            out[0][i] = indicators.getRsi();
+            out[1][i] = indicators.getMacd();
+            out[2][i] = indicators.getMacdSignal();
+            out[3][i] = indicators.getEmaFast();
+            out[4][i] = indicators.getEmaSlow();
+            out[5][i] = indicators.getBbUpper();
+            out[6][i] = indicators.getBbLower();
+            out[7][i] = indicators.getAtr();
+        }
+        return out;
+    }
+
+    private static void report(String name, long start, long bars) {
+        double ms = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-28s %10.1f %14.1f%n", name, ms, bars / ms / 1000);
+    }
+}
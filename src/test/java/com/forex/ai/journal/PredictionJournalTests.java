@@ -0,0 +1,149 @@
+package com.forex.ai.journal;
+
+import com.forex.ai.model.JournalRecord;
+import com.forex.ai.model.Timeframe;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proqnoz jurnalı - Unit Testlər
+ */
+class PredictionJournalTests {
+
+    private static final int SEGMENT_SIZE = 8 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Qeydlər ardıcıl oxunmalı və seqmentlər dəyişməlidir")
+    void shouldReplayAcrossSegments() throws Exception {
+        try (PredictionJournal journal = open()) {
+            for (int i = 0; i < 500; i++) assertTrue(journal.append(record(1_000L + i)));
+            awaitWritten(journal, 500);
+
+            assertTrue(journal.getSegmentCount() > 1, "Kiçik seqmentlər dəyişməlidir");
+
+            List<JournalRecord> records = readAll(journal, 0, Long.MAX_VALUE);
+            assertEquals(500, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(i, records.get(i).getSequence());
+                assertEquals(1_000L + i, records.get(i).getTimestamp());
+            }
+
+            JournalRecord first = records.get(0);
+            assertEquals("EURUSD", first.getPair());
+            assertEquals(Timeframe.M5, first.getTimeframe());
+            assertEquals("random-forest-1", first.getModelVersion());
+            assertEquals("BUY", first.getSignal());
+            assertEquals(30.5, first.getFeatures()[0]);
+            assertEquals(78.5, first.getBuyProbability());
+            assertTrue(first.isShouldTrade());
+        }
+    }
+
+    @Test
+    @DisplayName("Vaxt aralığı sorğusu yalnız uyğun qeydləri qaytarmalıdır")
+    void shouldFindTimeRange() throws Exception {
+        try (PredictionJournal journal = open()) {
+            for (int i = 0; i < 300; i++) journal.append(record(i * 10L));
+            awaitWritten(journal, 300);
+
+            List<JournalRecord> records = readAll(journal, 1_000, 1_990);
+            assertEquals(100, records.size());
+            assertEquals(1_000, records.get(0).getTimestamp());
+            assertEquals(1_990, records.get(99).getTimestamp());
+        }
+    }
+
+    @Test
+    @DisplayName("Yenidən açıldıqda ardıcıllıq davam etməlidir")
+    void shouldContinueAfterReopen() throws Exception {
+        try (PredictionJournal journal = open()) {
+            for (int i = 0; i < 120; i++) journal.append(record(i));
+            awaitWritten(journal, 120);
+        }
+        try (PredictionJournal journal = open()) {
+            journal.append(record(500));
+            awaitWritten(journal, 1);
+
+            List<JournalRecord> records = readAll(journal, 0, Long.MAX_VALUE);
+            assertEquals(121, records.size());
+            assertEquals(120, records.get(120).getSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Yarımçıq yazılmış qeyd yenidən açıldıqda atılmalıdır")
+    void shouldDropTornRecordOnReopen() throws Exception {
+        try (PredictionJournal journal = open()) {
+            for (int i = 0; i < 20; i++) journal.append(record(i));
+            awaitWritten(journal, 20);
+        }
+        // Simulate a crash in the middle of the last record: its body no longer matches the checksum
+        Path segment = directory.resolve(String.format("journal-%020d.log", 0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            int end = (int) buffer.getLong(40);
+            buffer.put(end - 20, (byte) (buffer.get(end - 20) ^ 0x5A));
+            buffer.force();
+        }
+
+        try (PredictionJournal journal = open()) {
+            assertEquals(19, readAll(journal, 0, Long.MAX_VALUE).size());
+
+            journal.append(record(500));
+            awaitWritten(journal, 1);
+            List<JournalRecord> records = readAll(journal, 0, Long.MAX_VALUE);
+            assertEquals(20, records.size());
+            assertEquals(19, records.get(19).getSequence(), "Ardıcıllıq atılan qeydin yerindən davam etməlidir");
+            assertEquals(500, records.get(19).getTimestamp());
+        }
+    }
+
+    private PredictionJournal open() throws Exception {
+        PredictionJournal journal = new PredictionJournal(directory, SEGMENT_SIZE, 10_000, 64, 10);
+        journal.start();
+        return journal;
+    }
+
+    private static void awaitWritten(PredictionJournal journal, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (journal.getWritten() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, journal.getWritten());
+    }
+
+    private static List<JournalRecord> readAll(PredictionJournal journal, long from, long to) throws Exception {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(from, to, records::add);
+        return records;
+    }
+
+    private static JournalRecord record(long timestamp) {
+        return JournalRecord.builder()
+                .timestamp(timestamp)
+                .pair("EURUSD")
+                .timeframe(Timeframe.M5)
+                .modelVersion("random-forest-1")
+                .features(new double[]{30.5, -0.002, -0.0015, 1.082, 1.0835, 1.09, 1.075, 0.0025, 15000})
+                .signal("BUY")
+                .buyProbability(78.5)
+                .sellProbability(12.3)
+                .holdProbability(9.2)
+                .confidence(78.5)
+                .shouldTrade(true)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.forex.ai.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Open-loop yük generatoru - Unit Testlər
+ */
+class OpenLoopLoadGeneratorTests {
+
+    private HttpServer server;
+    private URI baseUri;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    // =========================================
+    // KOORDİNASİYALI BURAXILMA (COORDINATED OMISSION)
+    // =========================================
+
+    @Test
+    @DisplayName("Növbədə gözləmə gecikməyə daxil edilməlidir")
+    void queueingShouldCountTowardsLatency() throws Exception {
+        // One client thread, 20 ms per request, 100 req/s offered: capacity is half the load
+        OpenLoopLoadGenerator generator = generator(1);
+        LoadResult result = generator.run(List.of(request(LoadTarget.SIMULATE, "/slow")), 100, Duration.ofSeconds(1));
+
+        LoadResult.TargetStats stats = result.get(LoadTarget.SIMULATE);
+        assertEquals(100, stats.getSent(), 1);
+        assertEquals(0, stats.getErrors());
+        assertEquals(0, result.getIncomplete());
+        // Service time stays near 20 ms; the last arrivals wait ~1 s behind the backlog
+        assertTrue(stats.getService().percentileNanos(50) < 100_000_000L);
+        assertTrue(stats.getLatency().percentileNanos(99) > 500_000_000L,
+                "p99 " + stats.getLatency().percentileNanos(99));
+    }
+
+    @Test
+    @DisplayName("Xəta statusları ayrıca sayılmalıdır")
+    void errorStatusesShouldBeCounted() throws Exception {
+        OpenLoopLoadGenerator generator = generator(4);
+        LoadResult result = generator.run(List.of(
+                request(LoadTarget.SIMULATE, "/slow"),
+                request(LoadTarget.ALL, "/fail")), 50, Duration.ofMillis(400));
+
+        LoadResult.TargetStats failing = result.get(LoadTarget.ALL);
+        assertEquals(0, result.get(LoadTarget.SIMULATE).getErrors());
+        assertEquals(failing.getSent(), failing.getErrors());
+        assertEquals(0, failing.getLatency().getCount());
+        // Errors stay visible: in the all-outcomes histogram and the error rate
+        assertEquals(failing.getSent(), failing.getAll().getCount());
+        assertEquals(100.0, failing.errorRate());
+        assertEquals(0.0, failing.shedRate());
+        assertEquals(50.0, result.errorRate(), 5.0);
+        assertTrue(result.throughput() > 0);
+    }
+
+    private OpenLoopLoadGenerator generator(int concurrency) {
+        return new OpenLoopLoadGenerator(HttpClient.newHttpClient(), concurrency, Duration.ofSeconds(5));
+    }
+
+    private LoadRequest request(LoadTarget target, String path) {
+        return new LoadRequest(target, HttpRequest.newBuilder(baseUri.resolve(path)).build());
+    }
+}
@@ -0,0 +1,65 @@
+package com.forex.ai.metrics;
+
+import com.forex.ai.ml.TrainingSet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Giriş sürüşməsi statistikası - Unit Testlər
+ */
+class FeatureDriftStatsTests {
+
+    private static DriftReference reference;
+
+    @BeforeAll
+    static void fit() {
+        Random random = new Random(1);
+        double[][] rows = new double[5_000][1];
+        for (double[] row : rows) row[0] = random.nextGaussian();
+        reference = DriftReference.fromTrainingSet(new TrainingSet(rows, new int[rows.length]), 10);
+    }
+
+    @Test
+    @DisplayName("Eyni paylanma sabit, sürüşmüş paylanma yüksək PSI/KS verməlidir")
+    void shiftedInputsShouldDrift() {
+        FeatureDriftStats same = new FeatureDriftStats(reference, 1_000);
+        FeatureDriftStats shifted = new FeatureDriftStats(reference, 1_000);
+        Random random = new Random(2);
+        for (int i = 0; i < 2_000; i++) {
+            same.record(new double[]{random.nextGaussian()});
+            shifted.record(new double[]{random.nextGaussian() + 1.0});
+        }
+
+        assertTrue(same.psi(0) < 0.1, "psi " + same.psi(0));
+        assertTrue(same.ks(0) < 0.05, "ks " + same.ks(0));
+        assertTrue(shifted.psi(0) > 0.25, "psi " + shifted.psi(0));
+        assertTrue(shifted.ks(0) > 0.3, "ks " + shifted.ks(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Statistika düzgün, yaddaş isə sabit pəncərə ilə məhdud olmalıdır")
+    void statisticsShouldBeExactAndBounded() {
+        FeatureDriftStats stats = new FeatureDriftStats(reference, 100);
+        for (int i = 1; i <= 1_000; i++) stats.record(new double[]{i});
+        stats.record(new double[]{Double.NaN});
+
+        Map<String, Object> feature = (Map<String, Object>) stats.toMap(List.of("x")).get("x");
+        assertEquals(1_000L, feature.get("count"));
+        assertEquals(500.5, (Double) feature.get("mean"), 1e-9);
+        assertEquals(Math.sqrt((1_000.0 * 1_000.0 - 1) / 12), (Double) feature.get("std"), 1e-6);
+        assertEquals(1.0, feature.get("min"));
+        assertEquals(1_000.0, feature.get("max"));
+        assertEquals(1L, feature.get("nanCount"));
+
+        assertEquals(1_001, stats.getObservations());
+        assertTrue(stats.getWindowObservations() <= 200);
+    }
+}
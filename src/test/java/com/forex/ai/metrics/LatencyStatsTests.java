@@ -0,0 +1,34 @@
+package com.forex.ai.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gecikmə statistikası - Unit Testlər
+ */
+class LatencyStatsTests {
+
+    @Test
+    @DisplayName("Hər dəyər öz bucket sərhədinin içində olmalıdır")
+    void bucketsShouldContainValues() {
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 1_000, 123_456, 10_000_000_000L}) {
+            int bucket = LatencyStats.bucket(value);
+            assertTrue(value <= LatencyStats.upperBound(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > LatencyStats.upperBound(bucket - 1), "value " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Persentillər ~12% dəqiqliklə olmalıdır")
+    void percentilesShouldBeClose() {
+        LatencyStats stats = new LatencyStats();
+        for (int i = 1; i <= 10_000; i++) stats.record(i * 1_000L);
+
+        assertEquals(10_000, stats.getCount());
+        assertEquals(5_000_000, stats.percentileNanos(50), 5_000_000 * 0.13);
+        assertEquals(9_900_000, stats.percentileNanos(99), 9_900_000 * 0.13);
+        assertEquals(10_000_000, stats.getMaxNanos());
+    }
+}
@@ -0,0 +1,78 @@
+package com.forex.ai.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sürüşən kovariasiya - Unit Testlər
+ */
+class RollingCovarianceTests {
+
+    @Test
+    @DisplayName("İnkremental kovariasiya pəncərədən birbaşa hesablananla üst-üstə düşməlidir")
+    void incrementalShouldMatchDirect() {
+        int n = 6;
+        int window = 50;
+        Random random = new Random(11);
+        RollingCovariance covariance = new RollingCovariance(n, window);
+        double[][] history = new double[173][n];
+
+        for (int t = 0; t < history.length; t++) {
+            double common = random.nextGaussian();
+            for (int i = 0; i < n; i++) {
+                // Some zero returns, as for pairs without a bar in that minute
+                history[t][i] = random.nextInt(5) == 0 ? 0.0 : 1e-4 * (common * (i - 2) + random.nextGaussian());
+            }
+            covariance.add(history[t]);
+
+            int from = Math.max(0, t - window + 1);
+            int m = t - from + 1;
+            assertEquals(m, covariance.observations());
+            if (m < 2) continue;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    assertEquals(direct(history, from, t, i, j), covariance.covariance(i, j), 1e-15,
+                            "t=" + t + " (" + i + "," + j + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Eyni istiqamətli seriyalar +1, əks istiqamətlilər -1, dəyişməyən 0 korrelyasiya verməlidir")
+    void snapshotShouldReportCorrelations() {
+        RollingCovariance covariance = new RollingCovariance(4, 30);
+        Random random = new Random(2);
+        for (int t = 0; t < 40; t++) {
+            double r = random.nextGaussian() * 1e-4;
+            covariance.add(new double[]{r, 2 * r, -r, 0.0});
+        }
+
+        CorrelationSnapshot snapshot = covariance.snapshot(0L);
+        assertEquals(30, snapshot.getObservations());
+        assertEquals(1.0, snapshot.correlation(0, 1), 1e-9);
+        assertEquals(-1.0, snapshot.correlation(0, 2), 1e-9);
+        assertEquals(snapshot.correlation(2, 0), snapshot.correlation(0, 2));
+        assertEquals(0.0, snapshot.correlation(0, 3));
+        assertEquals(2 * snapshot.volatility(0), snapshot.volatility(1), 1e-12);
+    }
+
+    private static double direct(double[][] history, int from, int to, int i, int j) {
+        int m = to - from + 1;
+        double meanI = 0;
+        double meanJ = 0;
+        for (int t = from; t <= to; t++) {
+            meanI += history[t][i];
+            meanJ += history[t][j];
+        }
+        meanI /= m;
+        meanJ /= m;
+        double sum = 0;
+        for (int t = from; t <= to; t++) sum += (history[t][i] - meanI) * (history[t][j] - meanJ);
+        return sum / (m - 1);
+    }
+}
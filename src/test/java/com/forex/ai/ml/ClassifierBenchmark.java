@@ -0,0 +1,146 @@
+package com.forex.ai.ml;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import weka.classifiers.trees.RandomForest;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Weka RandomForest vs Histogram GBDT benchmark.
+ * Both learners are configured exactly as WekaModelService trains them: the forest with Weka's
+ * default single execution slot, the GBDT with its parallel class trees and histograms, so the
+ * training times depend on the number of cores printed with the results.
+ *
+ * Disabled by default, run with:
+ *   mvn test -Dtest=ClassifierBenchmark -Dbenchmark=true [-Dbenchmark.rows=50000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClassifierBenchmark {
+
+    private static final int SCORE_ROWS = 20_000;
+
+    @Test
+    @DisplayName("RandomForest vs Histogram GBDT: təlim, ölçü, proqnoz")
+    void compareClassifiers() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 50_000);
+        TrainingSet train = generate(rows, new Random(1));
+        TrainingSet test = generate(SCORE_ROWS, new Random(2));
+
+        Instances header = header();
+
+        // Weka RandomForest (same settings as WekaModelService)
+        long start = System.nanoTime();
+        RandomForest rf = new RandomForest();
+        rf.setNumIterations(100);
+        rf.setMaxDepth(8);
+        rf.setSeed(42);
+        rf.buildClassifier(toInstances(train, header));
+        long rfTrainMs = (System.nanoTime() - start) / 1_000_000;
+        SignalClassifier forest = new WekaForestClassifier(rf, header);
+
+        // Histogram GBDT (same settings as WekaModelService)
+        start = System.nanoTime();
+        HistogramGbdtTrainer trainer = new HistogramGbdtTrainer();
+        trainer.setNumRounds(100);
+        trainer.setMaxDepth(6);
+        trainer.setLearningRate(0.1);
+        SignalClassifier gbdt = trainer.train(train);
+        long gbdtTrainMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%n=== Classifier benchmark: %d training rows, %d cores ===%n",
+                rows, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-16s %12s %14s %14s %10s %16s%n",
+                "model", "train (ms)", "size (bytes)", "score (ns/row)", "accuracy", "explain (ns/row)");
+        report("random-forest", rfTrainMs, forest, test);
+        report("random-forest-q8", rfTrainMs, QuantizedForest.fromWekaForest((WekaForestClassifier) forest), test);
+        report("histogram-gbdt", gbdtTrainMs, gbdt, test);
+    }
+
+    private void report(String name, long trainMs, SignalClassifier clf, TrainingSet test) throws Exception {
+        // Warm the scoring path before timing it
+        for (int i = 0; i < test.size(); i++) clf.distributionForFeatures(test.features()[i]);
+
+        int correct = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < test.size(); i++) {
+            if (SignalFeatures.maxIndex(clf.distributionForFeatures(test.features()[i])) == test.labels()[i]) {
+                correct++;
+            }
+        }
+        long nsPerRow = (System.nanoTime() - start) / test.size();
+
+        // TreeSHAP over every tree, warmed the same way
+        TreeShapExplainer explainer = TreeShapExplainer.forClassifier(clf);
+        int explainRows = Math.min(test.size(), 2_000);
+        for (int i = 0; i < explainRows; i++) explainer.shapValues(test.features()[i]);
+        start = System.nanoTime();
+        for (int i = 0; i < explainRows; i++) explainer.shapValues(test.features()[i]);
+        long explainNsPerRow = (System.nanoTime() - start) / explainRows;
+
+        System.out.printf("%-16s %12d %14d %14d %9.2f%% %16d%n",
+                name, trainMs, serializedSize(clf), nsPerRow, 100.0 * correct / test.size(), explainNsPerRow);
+    }
+
+    private static long serializedSize(Object o) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.size();
+    }
+
+    /**
+     * Indicator-like rows labelled by noisy RSI/MACD rules.
+     */
+    private static TrainingSet generate(int n, Random random) {
+        double[][] features = new double[n][];
+        int[] labels = new int[n];
+        for (int i = 0; i < n; i++) {
+            double close = 1.0850 + (random.nextDouble() - 0.5) * 0.02;
+            double rsi = 10 + random.nextDouble() * 80;
+            double emaFast = close + (random.nextDouble() - 0.5) * 0.0010;
+            double emaSlow = close + (random.nextDouble() - 0.5) * 0.0020;
+            double macd = emaFast - emaSlow;
+            double macdSignal = macd + (random.nextDouble() - 0.5) * 0.0005;
+            double std = 0.0030 + random.nextDouble() * 0.0020;
+            double atr = 0.0010 + random.nextDouble() * 0.0030;
+            double volume = 8000 + random.nextDouble() * 20000;
+            features[i] = new double[]{rsi, macd, macdSignal, emaFast, emaSlow,
+                    close + 2 * std, close - 2 * std, atr, volume};
+
+            double score = (50 - rsi) / 20 + (macd - macdSignal) * 2000 + random.nextGaussian() * 0.5;
+            labels[i] = score > 0.6 ? 0 : score < -0.6 ? 1 : 2;
+        }
+        return new TrainingSet(features, labels);
+    }
+
+    private static Instances header() {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        for (String name : SignalFeatures.FEATURE_NAMES) attributes.add(new Attribute(name));
+        attributes.add(new Attribute("signal", new ArrayList<>(SignalFeatures.CLASS_VALUES)));
+        Instances header = new Instances("ForexData", attributes, 0);
+        header.setClassIndex(header.numAttributes() - 1);
+        return header;
+    }
+
+    private static Instances toInstances(TrainingSet data, Instances header) {
+        Instances instances = new Instances(header, data.size());
+        for (int i = 0; i < data.size(); i++) {
+            double[] vals = new double[SignalFeatures.NUM_FEATURES + 1];
+            System.arraycopy(data.features()[i], 0, vals, 0, SignalFeatures.NUM_FEATURES);
+            vals[SignalFeatures.NUM_FEATURES] = data.labels()[i];
+            Instance instance = new DenseInstance(1.0, vals);
+            instances.add(instance);
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,86 @@
+package com.forex.ai.ml;
+
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.service.ForexDataService;
+import com.forex.ai.service.InstrumentRegistry;
+import com.forex.ai.service.WekaModelService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Histogram GBDT - Unit Testlər
+ */
+class HistogramGbdtTrainerTests {
+
+    private static HistogramGbdtModel model;
+    private static final ForexDataService forexDataService = new ForexDataService(InstrumentRegistry.of(
+            Instrument.builder().symbol("EURUSD").pipSize(0.0001).basePrice(1.0850).build()));
+
+    @BeforeAll
+    static void train() {
+        TrainingSet data = WekaModelService.sampleTrainingSet();
+        model = new HistogramGbdtTrainer().train(data);
+    }
+
+    // =========================================
+    // BİNLƏMƏ TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("Bin sərhədləri FlatTree qaydasına uyğun olmalıdır")
+    void binsShouldMatchThresholdRule() {
+        double[][] rows = {{1.0}, {2.0}, {3.0}, {4.0}};
+        FeatureBins bins = FeatureBins.fit(rows, 1, 255);
+
+        assertEquals(4, bins.numBins(0));
+        for (int b = 0; b < bins.numBins(0) - 1; b++) {
+            double threshold = bins.threshold(0, b);
+            for (double[] row : rows) {
+                // bin <= b  <=>  x < threshold
+                assertEquals(bins.bin(0, row[0]) <= b, row[0] < threshold);
+            }
+        }
+        assertEquals(bins.numBins(0) - 1, bins.bin(0, Double.NaN));
+    }
+
+    // =========================================
+    // MODEL TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("Ehtimallar cəmi 1 olmalıdır")
+    void probabilitiesShouldSumToOne() {
+        double[] probs = model.distributionForFeatures(
+                SignalFeatures.toFeatures(forexDataService.generateSimulatedData("EURUSD")));
+
+        assertEquals(SignalFeatures.NUM_CLASSES, probs.length);
+        assertEquals(1.0, probs[0] + probs[1] + probs[2], 1e-9);
+    }
+
+    @Test
+    @DisplayName("GBDT ssenariləri düzgün təsnif etməlidir")
+    void scenariosShouldBeClassified() {
+        assertEquals("BUY", classify(forexDataService.generateOversoldData("EURUSD")));
+        assertEquals("SELL", classify(forexDataService.generateOverboughtData("EURUSD")));
+        assertEquals("HOLD", classify(forexDataService.generateNeutralData("EURUSD")));
+    }
+
+    @Test
+    @DisplayName("Təlim dəstində dəqiqlik 100% olmalıdır")
+    void shouldFitTrainingData() {
+        TrainingSet data = WekaModelService.sampleTrainingSet();
+        for (int i = 0; i < data.size(); i++) {
+            double[] probs = model.distributionForFeatures(data.features()[i]);
+            assertEquals(data.labels()[i], SignalFeatures.maxIndex(probs), "Sətir " + i);
+        }
+    }
+
+    private String classify(ForexData data) {
+        double[] probs = model.distributionForFeatures(SignalFeatures.toFeatures(data));
+        return SignalFeatures.CLASS_VALUES.get(SignalFeatures.maxIndex(probs));
+    }
+}
@@ -0,0 +1,96 @@
+package com.forex.ai.ml;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import weka.classifiers.trees.RandomForest;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Quantized Forest - Unit Testlər
+ */
+class QuantizedForestTests {
+
+    private static WekaForestClassifier forest;
+    private static QuantizedForest quantized;
+    private static double[][] rows;
+
+    @BeforeAll
+    static void train() throws Exception {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        for (String name : SignalFeatures.FEATURE_NAMES) attributes.add(new Attribute(name));
+        attributes.add(new Attribute("signal", new ArrayList<>(SignalFeatures.CLASS_VALUES)));
+        Instances data = new Instances("ForexData", attributes, 0);
+        data.setClassIndex(data.numAttributes() - 1);
+
+        Random random = new Random(3);
+        int n = 2_000;
+        rows = new double[n][SignalFeatures.NUM_FEATURES];
+        for (int i = 0; i < n; i++) {
+            for (int f = 0; f < SignalFeatures.NUM_FEATURES; f++) rows[i][f] = random.nextGaussian();
+            double score = rows[i][0] - 0.7 * rows[i][1] + 0.3 * random.nextGaussian();
+            double[] vals = new double[SignalFeatures.NUM_FEATURES + 1];
+            System.arraycopy(rows[i], 0, vals, 0, SignalFeatures.NUM_FEATURES);
+            vals[SignalFeatures.NUM_FEATURES] = score > 0.5 ? 0 : score < -0.5 ? 1 : 2;
+            data.add(new DenseInstance(1.0, vals));
+        }
+
+        RandomForest rf = new RandomForest();
+        rf.setNumIterations(30);
+        rf.setMaxDepth(8);
+        rf.setSeed(42);
+        rf.buildClassifier(data);
+        forest = new WekaForestClassifier(rf, data);
+        quantized = QuantizedForest.fromWekaForest(forest);
+    }
+
+    // =========================================
+    // DƏQİQLİK TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("Kvantlaşdırılmış meşə tam dəqiqlikli siqnallarla üst-üstə düşməlidir")
+    void quantizedForestShouldAgreeWithFullPrecision() {
+        QuantizationReport report = QuantizationReport.compare(forest, quantized, rows);
+
+        assertEquals(30, quantized.numTrees());
+        assertTrue(report.signalAgreement() >= 99.0, "agreement " + report.signalAgreement());
+        // 8-bit leaves: at most 1/510 per tree before normalization
+        assertTrue(report.maxProbabilityError() < 0.01, "max error " + report.maxProbabilityError());
+        assertTrue(report.quantizedSerializedBytes() * 2 < report.fullSerializedBytes(),
+                report.quantizedSerializedBytes() + " vs " + report.fullSerializedBytes());
+    }
+
+    @Test
+    @DisplayName("Ehtimallar cəmi 1 olmalıdır")
+    void probabilitiesShouldSumToOne() {
+        for (int i = 0; i < 100; i++) {
+            double[] probs = quantized.distributionForFeatures(rows[i]);
+            assertEquals(SignalFeatures.NUM_CLASSES, probs.length);
+            assertEquals(1.0, probs[0] + probs[1] + probs[2], 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Kvantlaşdırılmış meşənin izahı onun öz ehtimallarına toplanmalıdır")
+    void quantizedExplanationShouldAddUpToQuantizedOutput() {
+        TreeShapExplainer explainer = TreeShapExplainer.forClassifier(quantized);
+        double[] base = explainer.getBaseValue();
+        for (int i = 0; i < 50; i++) {
+            double[] probs = quantized.distributionForFeatures(rows[i]);
+            double[][] shap = explainer.shapValues(rows[i]);
+            for (int k = 0; k < SignalFeatures.NUM_CLASSES; k++) {
+                double total = base[k];
+                for (double phi : shap[k]) total += phi;
+                assertEquals(probs[k], total, 1e-9, "row " + i + ", class " + k);
+            }
+        }
+    }
+}
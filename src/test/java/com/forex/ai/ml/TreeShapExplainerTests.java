@@ -0,0 +1,139 @@
+package com.forex.ai.ml;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TreeSHAP - Unit Testlər
+ */
+class TreeShapExplainerTests {
+
+    private static HistogramGbdtModel model;
+    private static TreeShapExplainer explainer;
+    private static double[][] rows;
+
+    @BeforeAll
+    static void train() {
+        Random random = new Random(7);
+        int n = 400;
+        rows = new double[n][SignalFeatures.NUM_FEATURES];
+        int[] labels = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int f = 0; f < SignalFeatures.NUM_FEATURES; f++) rows[i][f] = random.nextGaussian();
+            // Interactions, so that paths split on the same feature more than once
+            double score = rows[i][0] + 0.5 * rows[i][1] * rows[i][2] - Math.abs(rows[i][3]);
+            labels[i] = score > 0.5 ? 0 : score < -0.8 ? 1 : 2;
+        }
+
+        HistogramGbdtTrainer trainer = new HistogramGbdtTrainer();
+        trainer.setNumRounds(5);
+        trainer.setMaxDepth(4);
+        model = trainer.train(new TrainingSet(rows, labels));
+        explainer = TreeShapExplainer.forClassifier(model);
+    }
+
+    // =========================================
+    // DƏQİQLİK TƏMİNATLARI
+    // =========================================
+
+    @Test
+    @DisplayName("Atributlar + baza dəyəri modelin xam balına bərabər olmalıdır")
+    void attributionsShouldAddUpToRawScore() {
+        for (int i = 0; i < 50; i++) {
+            double[][] shap = explainer.shapValues(rows[i]);
+            double[] raw = model.rawScores(rows[i]);
+            double[] base = explainer.getBaseValue();
+            for (int k = 0; k < SignalFeatures.NUM_CLASSES; k++) {
+                double sum = base[k];
+                for (double v : shap[k]) sum += v;
+                assertEquals(raw[k], sum, 1e-9, "Sətir " + i + ", sinif " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("TreeSHAP dəqiq Shapley dəyərləri ilə üst-üstə düşməlidir")
+    void shouldMatchBruteForceShapley() {
+        for (int i = 0; i < 5; i++) {
+            double[] x = rows[i];
+            double[][] fast = explainer.shapValues(x);
+            double[][] exact = bruteForce(x);
+            for (int k = 0; k < SignalFeatures.NUM_CLASSES; k++) {
+                assertArrayEquals(exact[k], fast[k], 1e-9, "Sətir " + i + ", sinif " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Təlimdə boş qalan budaq atributlara təsir etməməlidir")
+    void emptyBranchShouldNotContribute() {
+        // x0 < 0 -> 1.0 (cover 10), otherwise 3.0 (cover 0)
+        FlatTree.Builder builder = FlatTree.builder(1);
+        int root = builder.addLeaf(10.0, 0.0);
+        builder.setSplit(root, 0, 0.0);
+        builder.setChildren(root, builder.addLeaf(10.0, 1.0), builder.addLeaf(0.0, 3.0));
+        FlatTree tree = builder.build();
+
+        TreeShap shap = new TreeShap(tree.depth(), 1);
+        double[] phi = new double[2];
+        shap.accumulate(tree, new double[]{-1.0, 0.0}, 1.0, phi);
+        assertArrayEquals(new double[]{0.0, 0.0}, phi, 1e-12);
+
+        Arrays.fill(phi, 0.0);
+        shap.accumulate(tree, new double[]{1.0, 0.0}, 1.0, phi);
+        assertEquals(1.0, TreeShap.expectedValue(tree)[0], 1e-12);
+        assertArrayEquals(new double[]{2.0, 0.0}, phi, 1e-12);
+    }
+
+    /**
+     * Exact Shapley values over all feature subsets, with "missing" features
+     * marginalized by cover (the same value function TreeSHAP uses).
+     */
+    private static double[][] bruteForce(double[] x) {
+        int m = x.length;
+        double[][] phi = new double[SignalFeatures.NUM_CLASSES][m];
+        double[] factorial = new double[m + 1];
+        factorial[0] = 1;
+        for (int i = 1; i <= m; i++) factorial[i] = factorial[i - 1] * i;
+
+        for (int feature = 0; feature < m; feature++) {
+            for (int mask = 0; mask < (1 << m); mask++) {
+                if ((mask & (1 << feature)) != 0) continue;
+                double weight = factorial[Integer.bitCount(mask)]
+                        * factorial[m - Integer.bitCount(mask) - 1] / factorial[m];
+                double[] with = conditional(x, mask | (1 << feature));
+                double[] without = conditional(x, mask);
+                for (int k = 0; k < phi.length; k++) phi[k][feature] += weight * (with[k] - without[k]);
+            }
+        }
+        return phi;
+    }
+
+    private static double[] conditional(double[] x, int known) {
+        double[] out = new double[SignalFeatures.NUM_CLASSES];
+        FlatTree[] trees = model.getTrees();
+        for (int t = 0; t < trees.length; t++) {
+            out[model.getTreeClass()[t]] += conditional(trees[t], 0, x, known);
+        }
+        return out;
+    }
+
+    private static double conditional(FlatTree tree, int node, double[] x, int known) {
+        if (tree.isLeaf(node)) return tree.value(node, 0);
+        int f = tree.feature(node);
+        if ((known & (1 << f)) != 0) {
+            int next = x[f] < tree.threshold(node) ? tree.left(node) : tree.right(node);
+            return conditional(tree, next, x, known);
+        }
+        int left = tree.left(node);
+        int right = tree.right(node);
+        return (tree.cover(left) * conditional(tree, left, x, known)
+                + tree.cover(right) * conditional(tree, right, x, known)) / tree.cover(node);
+    }
+}
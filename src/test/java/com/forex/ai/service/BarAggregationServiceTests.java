@@ -0,0 +1,111 @@
+package com.forex.ai.service;
+
+import com.forex.ai.controller.MarketDataController;
+import com.forex.ai.event.BarCloseEvent;
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.Tick;
+import com.forex.ai.model.Timeframe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tik aqreqasiya servisi - Unit Testlər
+ */
+class BarAggregationServiceTests {
+
+    private static final long MINUTE = 60_000L;
+
+    private final List<BarCloseEvent> published = Collections.synchronizedList(new ArrayList<>());
+    private BarAggregationService service;
+
+    @BeforeEach
+    void createService() {
+        InstrumentRegistry registry = InstrumentRegistry.of(
+                Instrument.builder().symbol("EURUSD").pipSize(0.0001).basePrice(1.0850).build());
+        service = new BarAggregationService(event -> published.add((BarCloseEvent) event), registry);
+        service.initialize();
+    }
+
+    @Test
+    @DisplayName("Paralel, sırasız tiklər bütün taymfreymlərdə eyni tiklərdən bar qurmalıdır")
+    void concurrentTicksShouldFeedAllTimeframesAlike() throws Exception {
+        int threads = 4;
+        int ticksPerThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < ticksPerThread; i++) {
+                        // Roughly increasing time with up to 20 s of jitter, so some ticks arrive late
+                        long time = MINUTE + (i * threads + offset) * 300L + random.nextInt(20_000);
+                        service.onTick(new Tick("EURUSD", 1.0850, 1, time));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Long, Double> m1VolumeByM5 = new HashMap<>();
+        for (Bar bar : service.getBars("EURUSD", Timeframe.M1, Integer.MAX_VALUE)) {
+            m1VolumeByM5.merge(Timeframe.M5.barOpenTime(bar.getOpenTime()), bar.getVolume(), Double::sum);
+        }
+        List<Bar> m5 = service.getBars("EURUSD", Timeframe.M5, Integer.MAX_VALUE);
+        assertFalse(m5.isEmpty());
+        for (Bar bar : m5) {
+            assertEquals(bar.getVolume(), m1VolumeByM5.get(bar.getOpenTime()), 1e-9,
+                    "5m bar " + bar.getOpenTime() + " 1m barları ilə eyni tiklərdən qurulmalıdır");
+        }
+
+        // Each timeframe's bar closes are published in order
+        Map<Timeframe, Long> lastOpen = new HashMap<>();
+        for (BarCloseEvent event : published) {
+            Bar bar = event.getBar();
+            Long previous = lastOpen.put(bar.getTimeframe(), bar.getOpenTime());
+            assertTrue(previous == null || previous < bar.getOpenTime(),
+                    bar.getTimeframe() + " bağlanışları sıra ilə dərc olunmalıdır");
+        }
+    }
+
+    @Test
+    @DisplayName("Səhv tik olan paket heç bir tik tətbiq etməməlidir")
+    void invalidTickShouldRejectWholeBatch() {
+        MarketDataController controller = new MarketDataController(service);
+        List<Tick> batch = List.of(
+                new Tick("EURUSD", 1.0850, 1, MINUTE),
+                new Tick("EURUSD", 1.0851, 1, 2 * MINUTE),
+                new Tick("EURUSD", -1.0, 1, 3 * MINUTE));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.ingestTicks(batch).getStatusCode());
+        assertTrue(service.getBars("EURUSD", Timeframe.M1, 10).isEmpty(),
+                "Rədd edilmiş paketin tikləri bar bağlamamalıdır");
+        assertTrue(published.isEmpty());
+
+        assertEquals(2, controller.ingestTicks(batch.subList(0, 2)).getBody().get("accepted"));
+        assertEquals(1, service.getBars("EURUSD", Timeframe.M1, 10).size());
+
+        assertThrows(UnknownInstrumentException.class, () -> controller.ingestTicks(List.of(
+                new Tick("EURUSD", 1.0852, 1, 4 * MINUTE),
+                new Tick("XAUUSD", 2000.0, 1, 4 * MINUTE))));
+        assertEquals(1, service.getBars("EURUSD", Timeframe.M1, 10).size());
+    }
+}
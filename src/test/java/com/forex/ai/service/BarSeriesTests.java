@@ -0,0 +1,107 @@
+package com.forex.ai.service;
+
+import com.forex.ai.indicator.StreamingIndicators;
+import com.forex.ai.model.Bar;
+import com.forex.ai.model.Timeframe;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bar aqreqasiyası - Unit Testlər
+ */
+class BarSeriesTests {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    @DisplayName("Tiklər OHLCV barına yığılmalıdır")
+    void ticksShouldFormOhlcv() {
+        BarSeries series = new BarSeries("EURUSD", Timeframe.M1, 10);
+
+        assertNull(series.onTick(0, 1.0850, 1));
+        assertNull(series.onTick(10_000, 1.0870, 2));
+        assertNull(series.onTick(20_000, 1.0840, 3));
+        assertNull(series.onTick(59_999, 1.0860, 4));
+        Bar bar = series.onTick(MINUTE, 1.0900, 5);
+
+        assertNotNull(bar, "Yeni dəqiqədə bar bağlanmalıdır");
+        assertEquals(0, bar.getOpenTime());
+        assertEquals(1.0850, bar.getOpen());
+        assertEquals(1.0870, bar.getHigh());
+        assertEquals(1.0840, bar.getLow());
+        assertEquals(1.0860, bar.getClose());
+        assertEquals(10, bar.getVolume());
+    }
+
+    @Test
+    @DisplayName("Gecikmiş tiklər bağlanış qiymətini dəyişməməlidir")
+    void lateTicksShouldNotMoveTheClose() {
+        BarSeries series = new BarSeries("EURUSD", Timeframe.M1, 10);
+
+        series.onTick(0, 1.0850, 1);
+        series.onTick(30_000, 1.0860, 1);
+        // Out of order within the bar: counts for the range and volume, not the close
+        series.onTick(20_000, 1.0830, 1);
+        Bar first = series.onTick(MINUTE, 1.0900, 1);
+        assertEquals(1.0860, first.getClose());
+        assertEquals(1.0830, first.getLow());
+        assertEquals(3, first.getVolume());
+
+        // A tick of the closed bar is dropped
+        assertTrue(series.isLate(50_000));
+        assertNull(series.onTick(50_000, 1.0700, 1));
+        Bar second = series.onTick(2 * MINUTE, 1.0910, 1);
+        assertEquals(1.0900, second.getClose());
+        assertEquals(1.0900, second.getLow());
+        assertEquals(1, second.getVolume());
+        assertTrue(series.lastBars(-1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("5m bar beş dəqiqədən sonra bağlanmalıdır")
+    void higherTimeframeShouldCloseOnItsBoundary() {
+        BarSeries series = new BarSeries("EURUSD", Timeframe.M5, 10);
+
+        for (int minute = 0; minute < 5; minute++) {
+            assertNull(series.onTick(minute * MINUTE, 1.08 + minute * 0.001, 1));
+        }
+        Bar bar = series.onTick(5 * MINUTE, 1.0900, 1);
+
+        assertEquals(1.080, bar.getOpen(), 1e-12);
+        assertEquals(1.084, bar.getClose(), 1e-12);
+        assertEquals(5, bar.getVolume());
+    }
+
+    @Test
+    @DisplayName("Halqa bufer ən son barları saxlamalıdır")
+    void ringBufferShouldKeepLatestBars() {
+        BarSeries series = new BarSeries("EURUSD", Timeframe.M1, 3);
+        for (int minute = 0; minute <= 5; minute++) {
+            series.onTick(minute * MINUTE, 1.0 + minute, 1);
+        }
+
+        List<Bar> bars = series.lastBars(10);
+        assertEquals(3, bars.size());
+        assertEquals(List.of(2 * MINUTE, 3 * MINUTE, 4 * MINUTE),
+                bars.stream().map(Bar::getOpenTime).toList());
+    }
+
+    @Test
+    @DisplayName("İndikatorlar isinəndən sonra xüsusiyyətlər verilməlidir")
+    void featuresShouldAppearAfterWarmup() {
+        BarSeries series = new BarSeries("EURUSD", Timeframe.M1, 100);
+        int withFeatures = 0;
+        for (int minute = 0; minute <= StreamingIndicators.WARMUP_BARS + 5; minute++) {
+            Bar bar = series.onTick(minute * MINUTE, 1.08 + Math.sin(minute) * 0.001, 1);
+            if (bar != null && series.features(bar) != null) {
+                withFeatures++;
+                assertEquals(Timeframe.M1, series.features(bar).getTimeframe());
+            }
+        }
+        assertEquals(6, withFeatures);
+    }
+}
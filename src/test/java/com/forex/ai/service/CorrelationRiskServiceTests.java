@@ -0,0 +1,88 @@
+package com.forex.ai.service;
+
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PredictionResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Korrelyasiya riski - Unit Testlər
+ */
+class CorrelationRiskServiceTests {
+
+    @Test
+    @DisplayName("Korrelyasiyalı cütlərdə eyni istiqamətli yeni mövqe riskli sayılmalıdır")
+    void correlatedSameDirectionTradeShouldRaiseRisk() {
+        InstrumentRegistry registry = InstrumentRegistry.of(
+                instrument("EURUSD", 1.0850), instrument("GBPUSD", 1.2650),
+                instrument("AUDUSD", 0.6550), instrument("USDCHF", 0.8850));
+        PaperTradingService paper = new PaperTradingService(registry);
+        paper.initialize();
+        CorrelationRiskService risk = new CorrelationRiskService(registry, paper);
+        risk.initialize();
+
+        // EUR, GBP and AUD move with the dollar; CHF is quoted the other way round
+        Random random = new Random(4);
+        double[] price = {1.0850, 1.2650, 0.6550, 0.8850};
+        for (int minute = 0; minute < 100; minute++) {
+            double usd = random.nextGaussian() * 3e-4;
+            double[] beta = {1.0, 0.9, 1.1, -1.0};
+            for (int i = 0; i < price.length; i++) {
+                price[i] *= Math.exp(beta[i] * usd + random.nextGaussian() * 5e-5);
+                risk.onBar(registry.get(i), minute * 60_000L, price[i]);
+            }
+        }
+
+        Instrument gbpusd = registry.find("GBPUSD");
+        assertEquals("LOW", risk.riskLevel(gbpusd, "BUY"), "Açıq mövqe yoxdursa risk yoxdur");
+
+        // Long EURUSD and AUDUSD: a third long USD-short trade stacks on both
+        paper.onSignal(data("EURUSD", 1.0850), trade("EURUSD", "BUY"));
+        paper.onSignal(data("AUDUSD", 0.6550), trade("AUDUSD", "BUY"));
+        assertEquals("HIGH", risk.riskLevel(gbpusd, "BUY"));
+        assertEquals("LOW", risk.riskLevel(gbpusd, "SELL"), "Əks istiqamət riski azaldır");
+        assertEquals("HIGH", risk.riskLevel(registry.find("USDCHF"), "SELL"), "USDCHF satışı da eyni USD riskidir");
+        assertEquals("LOW", risk.riskLevel(gbpusd, "HOLD"));
+    }
+
+    @Test
+    @DisplayName("Boşluqdan sonrakı bar çoxdəqiqəlik gəlir kimi sayılmamalıdır")
+    void gapShouldNotProduceMultiMinuteReturn() {
+        InstrumentRegistry registry = InstrumentRegistry.of(
+                instrument("EURUSD", 1.0850), instrument("GBPUSD", 1.2650));
+        PaperTradingService paper = new PaperTradingService(registry);
+        paper.initialize();
+        CorrelationRiskService risk = new CorrelationRiskService(registry, paper);
+        risk.initialize();
+
+        Random random = new Random(5);
+        double eurusd = 1.0850;
+        for (int minute = 0; minute < 60; minute++) {
+            eurusd *= Math.exp(random.nextGaussian() * 3e-4);
+            risk.onBar(registry.get(0), minute * 60_000L, eurusd);
+            // GBPUSD only has bars 30 minutes apart, 2% higher the second time
+            if (minute == 10) risk.onBar(registry.get(1), minute * 60_000L, 1.2650);
+            if (minute == 40) risk.onBar(registry.get(1), minute * 60_000L, 1.2650 * 1.02);
+        }
+
+        assertTrue(risk.getSnapshot().volatility(0) > 0);
+        assertEquals(0.0, risk.getSnapshot().volatility(1), 1e-12);
+    }
+
+    private static Instrument instrument(String symbol, double basePrice) {
+        return Instrument.builder().symbol(symbol).pipSize(0.0001).basePrice(basePrice).build();
+    }
+
+    private static ForexData data(String pair, double close) {
+        return ForexData.builder().pair(pair).close(close).atr(0.0020).build();
+    }
+
+    private static PredictionResult trade(String pair, String signal) {
+        return PredictionResult.builder().pair(pair).signal(signal).shouldTrade(true).build();
+    }
+}
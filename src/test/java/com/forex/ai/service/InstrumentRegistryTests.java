@@ -0,0 +1,38 @@
+package com.forex.ai.service;
+
+import com.forex.ai.model.Instrument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Alət reyestri - Unit Testlər
+ */
+class InstrumentRegistryTests {
+
+    @Test
+    @DisplayName("Alətlər ardıcıl id almalı və simvolla tapılmalıdır")
+    void shouldAssignDenseIds() {
+        InstrumentRegistry registry = InstrumentRegistry.of(
+                instrument("EURUSD", 1.0850), instrument("usdjpy", 149.50));
+
+        assertEquals(2, registry.size());
+        assertEquals(0, registry.find("EURUSD").getId());
+        assertEquals(1, registry.find("USDJPY").getId());
+        assertEquals("USDJPY", registry.get(1).getSymbol());
+        assertSame(registry.find("EURUSD"), registry.find("eurusd"));
+        assertNull(registry.find("XAUUSD"));
+    }
+
+    @Test
+    @DisplayName("Təkrarlanan simvol rədd edilməlidir")
+    void duplicatesShouldBeRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> InstrumentRegistry.of(instrument("EURUSD", 1.0850), instrument("eurusd", 1.0850)));
+    }
+
+    private static Instrument instrument(String symbol, double basePrice) {
+        return Instrument.builder().symbol(symbol).pipSize(0.0001).basePrice(basePrice).build();
+    }
+}
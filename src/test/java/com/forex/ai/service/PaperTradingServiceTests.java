@@ -0,0 +1,125 @@
+package com.forex.ai.service;
+
+import com.forex.ai.event.PredictionEvent;
+import com.forex.ai.model.ForexData;
+import com.forex.ai.model.Instrument;
+import com.forex.ai.model.PaperTradingSnapshot;
+import com.forex.ai.model.PredictionResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paper Trading - Unit Testlər
+ */
+class PaperTradingServiceTests {
+
+    private final PaperTradingService paperTradingService = newService();
+
+    private static PaperTradingService newService() {
+        PaperTradingService service = new PaperTradingService(InstrumentRegistry.of(Instrument.builder()
+                .symbol("EURUSD").pipSize(0.0001).basePrice(1.0850).build()));
+        service.initialize();
+        return service;
+    }
+
+    @Test
+    @DisplayName("BUY siqnalı LONG mövqe açmalıdır")
+    void buySignalShouldOpenLong() {
+        paperTradingService.onSignal(bar(1.0850, 0.0020), signal("BUY", true));
+
+        PaperTradingSnapshot snapshot = paperTradingService.getSnapshot("EURUSD");
+        assertEquals("LONG", snapshot.getPosition().getSide());
+        assertEquals(1.0850 - 2 * 0.0020, snapshot.getPosition().getStopLoss(), 1e-9);
+        assertEquals(1.0850 + 3 * 0.0020, snapshot.getPosition().getTakeProfit(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("shouldTrade=false olduqda mövqe açılmamalıdır")
+    void noTradeShouldNotOpen() {
+        paperTradingService.onSignal(bar(1.0850, 0.0020), signal("BUY", false));
+
+        assertNull(paperTradingService.getSnapshot("EURUSD").getPosition());
+    }
+
+    @Test
+    @DisplayName("Stop loss mövqeni zərərlə bağlamalıdır")
+    void stopLossShouldClose() {
+        paperTradingService.onSignal(bar(1.0850, 0.0020), signal("BUY", true));
+        paperTradingService.onSignal(bar(1.0800, 0.0020), signal("HOLD", false));
+
+        PaperTradingSnapshot snapshot = paperTradingService.getSnapshot("EURUSD");
+        assertNull(snapshot.getPosition());
+        assertEquals(1, snapshot.getClosedTrades());
+        assertEquals(0, snapshot.getWinningTrades());
+        assertEquals(-0.0050 * 100_000, snapshot.getRealizedPnl(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Əks siqnal mövqeni çevirməlidir")
+    void oppositeSignalShouldReverse() {
+        paperTradingService.onSignal(bar(1.0850, 0.0020), signal("BUY", true));
+        paperTradingService.onSignal(bar(1.0860, 0.0020), signal("SELL", true));
+
+        PaperTradingSnapshot snapshot = paperTradingService.getSnapshot("EURUSD");
+        assertEquals("SHORT", snapshot.getPosition().getSide());
+        assertEquals(1, snapshot.getWinningTrades());
+        assertEquals(1.0860 * 100_000, snapshot.getExposure(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Yalnız bar bağlanışı siqnalları ticarət açmalıdır")
+    void onlyBarCloseSignalsShouldTrade() {
+        Instrument eurusd = InstrumentRegistry.of(Instrument.builder()
+                .symbol("EURUSD").pipSize(0.0001).basePrice(1.0850).build()).find("EURUSD");
+        for (PredictionEvent.Source source : PredictionEvent.Source.values()) {
+            if (source == PredictionEvent.Source.BAR_CLOSE) continue;
+            paperTradingService.onPrediction(new PredictionEvent(bar(1.0850, 0.0020), signal("BUY", true),
+                    eurusd, source, "test", 0));
+        }
+        assertNull(paperTradingService.getSnapshot("EURUSD"));
+
+        paperTradingService.onPrediction(new PredictionEvent(bar(1.0850, 0.0020), signal("BUY", true),
+                eurusd, PredictionEvent.Source.BAR_CLOSE, "test", 0));
+        assertEquals("LONG", paperTradingService.getSnapshot("EURUSD").getPosition().getSide());
+    }
+
+    @Test
+    @DisplayName("ATR sıfır olduqda mövqe açılmamalıdır")
+    void zeroAtrShouldNotOpen() {
+        paperTradingService.onSignal(bar(1.0850, 0.0), signal("BUY", true));
+
+        assertNull(paperTradingService.getSnapshot("EURUSD").getPosition());
+        assertEquals(0, paperTradingService.getDirection(0));
+    }
+
+    @Test
+    @DisplayName("Cəmlər kotirovka valyutasına görə ayrılmalıdır")
+    void totalsShouldBeGroupedByQuoteCurrency() {
+        PaperTradingService service = new PaperTradingService(InstrumentRegistry.of(
+                Instrument.builder().symbol("EURUSD").pipSize(0.0001).basePrice(1.0850).build(),
+                Instrument.builder().symbol("USDJPY").pipSize(0.01).basePrice(149.50).build()));
+        service.initialize();
+        service.onSignal(bar(1.0850, 0.0020), signal("BUY", true));
+        service.onSignal(ForexData.builder().pair("USDJPY").close(149.50).atr(0.20).build(),
+                PredictionResult.builder().pair("USDJPY").signal("SELL").shouldTrade(true).build());
+
+        Map<String, Map<String, Object>> totals = service.getTotalsByQuoteCurrency(service.getSnapshots());
+        assertEquals("JPY", service.getSnapshot("USDJPY").getQuoteCurrency());
+        assertEquals(2, totals.size(), "USD və JPY məbləğləri toplanmamalıdır");
+        assertEquals(1.0850 * 100_000, (Double) totals.get("USD").get("exposure"), 1e-6);
+        assertEquals(149.50 * 100_000, (Double) totals.get("JPY").get("exposure"), 1e-6);
+        assertEquals(1, totals.get("JPY").get("openPositions"));
+    }
+
+    private ForexData bar(double close, double atr) {
+        return ForexData.builder().pair("EURUSD").close(close).atr(atr).build();
+    }
+
+    private PredictionResult signal(String signal, boolean shouldTrade) {
+        return PredictionResult.builder().pair("EURUSD").signal(signal).shouldTrade(shouldTrade).build();
+    }
+}